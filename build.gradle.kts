@@ -1,7 +1,12 @@
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
 plugins {
     java
     id("org.springframework.boot") version "3.3.1"
     id("io.spring.dependency-management") version "1.1.5"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "de.jglumanda"
@@ -9,7 +14,7 @@ version = "0.0.1-SNAPSHOT"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -28,13 +33,119 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.5.0")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-mongodb-reactive")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     annotationProcessor("org.projectlombok:lombok")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    jmhImplementation("de.flapdoodle.embed:de.flapdoodle.embed.mongo:4.16.1")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.bootJar {
+    archiveFileName = "app.jar"
+}
+
+val cdsDirectory = layout.buildDirectory.dir("cds")
+val startupJavaLauncher = javaToolchains.launcherFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+// Without index creation on startup, the application starts without a reachable MongoDB
+val startupArguments = arrayOf("--spring.data.mongodb.auto-index-creation=false", "--server.port=0")
+// A start that hangs, e.g. while connecting to MongoDB, fails the task after this many seconds instead of blocking it
+val startupTimeoutSeconds = providers.gradleProperty("startupTimeout").map { it.toLong() }.getOrElse(120L)
+
+fun javaCommand(vararg arguments: String): List<String> =
+    listOf(startupJavaLauncher.get().executablePath.asFile.absolutePath) + arguments
+
+fun stop(process: Process) {
+    process.destroy()
+    if (!process.waitFor(10, TimeUnit.SECONDS)) {
+        process.destroyForcibly()
+        process.waitFor()
+    }
+}
+
+fun runToCompletion(command: List<String>, directory: File) {
+    val process = ProcessBuilder(command).directory(directory).inheritIO().start()
+    if (!process.waitFor(startupTimeoutSeconds, TimeUnit.SECONDS)) {
+        stop(process)
+        error("$command did not finish within $startupTimeoutSeconds seconds")
+    }
+    check(process.exitValue() == 0) { "$command failed with exit code ${process.exitValue()}" }
+}
+
+fun measureStartup(command: List<String>, directory: File): String {
+    val process = ProcessBuilder(command).directory(directory).redirectErrorStream(true).start()
+    // Reading blocks until the process writes or exits, so the output is read on a separate thread
+    val readyLine = CompletableFuture<String?>()
+    Thread {
+        runCatching { process.inputStream.bufferedReader().lineSequence().firstOrNull { "Ready after" in it } }
+            .fold({ readyLine.complete(it) }, { readyLine.completeExceptionally(it) })
+    }.apply { isDaemon = true }.start()
+    try {
+        val line = try {
+            readyLine.get(startupTimeoutSeconds, TimeUnit.SECONDS)
+        } catch (ex: TimeoutException) {
+            error("$command was not ready within $startupTimeoutSeconds seconds")
+        } ?: error("$command exited before the application was ready")
+        return line.substringAfter("Ready after").trim()
+    } finally {
+        stop(process)
+    }
+}
+
+val cdsArchive by tasks.registering {
+    group = "build"
+    description = "Extracts the application jar and creates a class data sharing archive with a training run."
+    dependsOn(tasks.bootJar)
+    inputs.file(tasks.bootJar.flatMap { it.archiveFile })
+    outputs.dir(cdsDirectory)
+    doLast {
+        val directory = cdsDirectory.get().asFile
+        directory.deleteRecursively()
+        directory.mkdirs()
+        val jar = tasks.bootJar.get().archiveFile.get().asFile.absolutePath
+        runToCompletion(javaCommand("-Djarmode=tools", "-jar", jar, "extract", "--destination", "application"), directory)
+        runToCompletion(javaCommand("-XX:ArchiveClassesAtExit=application.jsa", "-Dspring.context.exit=onRefresh",
+            "-jar", "application/app.jar", *startupArguments), directory)
+    }
+}
+
+val startupReport by tasks.registering {
+    group = "verification"
+    description = "Reports the startup time and resident memory of the application with and without class data sharing. " +
+        "Only runs when requested, since it starts the application several times."
+    dependsOn(cdsArchive)
+    val reportFile = layout.buildDirectory.file("reports/startup.txt")
+    // Measures again whenever the extracted application or its archive changed
+    inputs.dir(cdsDirectory)
+    outputs.file(reportFile)
+    doLast {
+        val directory = cdsDirectory.get().asFile
+        val report = listOf(
+            "without CDS" to javaCommand("-jar", "application/app.jar", *startupArguments),
+            "with CDS" to javaCommand("-XX:SharedArchiveFile=application.jsa", "-jar", "application/app.jar", *startupArguments),
+        ).joinToString("\n") { (variant, command) -> "%-12s ready after %s".format(variant, measureStartup(command, directory)) }
+        reportFile.get().asFile.parentFile.mkdirs()
+        reportFile.get().asFile.writeText(report + "\n")
+        println(report)
+    }
+}
+
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes = listOf(it) }
+}
@@ -0,0 +1,28 @@
+plugins {
+    java
+    application
+}
+
+group = "de.jglumanda"
+version = "0.0.1-SNAPSHOT"
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(platform("org.springframework.boot:spring-boot-dependencies:3.3.1"))
+    implementation(project(":"))
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation("de.flapdoodle.embed:de.flapdoodle.embed.mongo:4.16.1")
+}
+
+application {
+    mainClass = "de.jglumanda.verteiltesysteme_programmentwurf.loadtest.LoadTest"
+}
@@ -0,0 +1,49 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.loadtest;
+
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.jglumanda.verteiltesysteme_programmentwurf.VerteilteSystemeProgrammentwurfApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application started in the load test process against an embedded MongoDB on a random port.
+ */
+final class EmbeddedApplication implements AutoCloseable {
+    private final TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedApplication(TransitionWalker.ReachedState<RunningMongodProcess> mongod, ConfigurableApplicationContext context) {
+        this.mongod = mongod;
+        this.context = context;
+    }
+
+    /**
+     * Starts MongoDB and the application.
+     * The rate limit is disabled, as all simulated clients send their requests from the same address.
+     * @param profiles  The comma separated profiles the application is run with.
+     * @return          The started application.
+     */
+    static EmbeddedApplication start(String profiles) {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(VerteilteSystemeProgrammentwurfApplication.class)
+                .profiles(profiles.isBlank() ? new String[0] : profiles.split(","))
+                .run("--server.port=0",
+                        "--blackboard.rate-limit.enabled=false",
+                        "--spring.data.mongodb.uri=mongodb://" + mongod.current().getServerAddress() + "/blackboardLoadTest");
+        return new EmbeddedApplication(mongod, context);
+    }
+
+    String url() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        mongod.close();
+    }
+}
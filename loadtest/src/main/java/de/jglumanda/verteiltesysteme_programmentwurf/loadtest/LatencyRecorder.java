@@ -0,0 +1,63 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latencies of the requests of a load test per endpoint and per phase within a second.
+ * The expiry task of the application runs once per second, so a task that slows down all requests
+ * shows up as a phase with much higher latencies than the others.
+ */
+final class LatencyRecorder {
+    static final int PHASES = 10;
+    private static final long PHASE_NANOS = TimeUnit.SECONDS.toNanos(1) / PHASES;
+
+    private final long startNanos;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Histogram[] phases = new Histogram[PHASES];
+
+    LatencyRecorder(long startNanos) {
+        this.startNanos = startNanos;
+        for (int i = 0; i < PHASES; i++) {
+            phases[i] = new ConcurrentHistogram(3);
+        }
+    }
+
+    /**
+     * Records a request.
+     * The latency is measured from the time the request was scheduled, not from the time it was sent,
+     * so a stalled application also counts the time the requests waited for their worker.
+     * @param endpoint          The name of the endpoint.
+     * @param scheduledNanos    The time the request was scheduled.
+     * @param finishedNanos     The time the response was received.
+     * @param successful        Whether the request was successful.
+     */
+    void record(String endpoint, long scheduledNanos, long finishedNanos, boolean successful) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (!successful) {
+            stats.errors.increment();
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(finishedNanos - scheduledNanos);
+        stats.latencies.recordValue(latencyMicros);
+        phases[(int) ((scheduledNanos - startNanos) / PHASE_NANOS % PHASES)].recordValue(latencyMicros);
+    }
+
+    Map<String, Endpoint> endpoints() {
+        return new LinkedHashMap<>(endpoints);
+    }
+
+    Histogram phase(int phase) {
+        return phases[phase];
+    }
+
+    static final class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+    }
+}
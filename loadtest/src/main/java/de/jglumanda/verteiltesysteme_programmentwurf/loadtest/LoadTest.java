@@ -0,0 +1,225 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the blackboard API.
+ * Readers poll a few hot blackboards, writers display data on them, and in the background all blackboards are listed
+ * and short-lived scratch blackboards are created and deleted with "/delete/all". Every worker runs on its own virtual thread.
+ * <p>
+ * Started without a URL, the application is started in this process against an embedded MongoDB:
+ * <pre>./gradlew :loadtest:run --args='--duration=30000 --readers=200'</pre>
+ */
+public final class LoadTest {
+    private static final String API = "/api/v1/blackboard";
+    private static final String SCRATCH_PREFIX = "scratch-";
+
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private long measureStartNanos;
+    private long endNanos;
+    private LatencyRecorder recorder;
+
+    private LoadTest(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl + API;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        if (config.url() != null) {
+            new LoadTest(config, config.url()).run();
+            return;
+        }
+        try (EmbeddedApplication application = EmbeddedApplication.start(config.profiles())) {
+            new LoadTest(config, application.url()).run();
+        }
+    }
+
+    private void run() throws IOException {
+        createHotBoards();
+
+        measureStartNanos = System.nanoTime() + config.warmup().toNanos();
+        endNanos = measureStartNanos + config.duration().toNanos();
+        recorder = new LatencyRecorder(measureStartNanos);
+        System.out.printf("Running against %s for %d s after %d s of warmup%n", baseUrl,
+                config.duration().toSeconds(), config.warmup().toSeconds());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.readers(); i++) {
+                workers.execute(() -> repeat(config.readInterval(),
+                        scheduled -> call("read", scheduled, get("/read/" + randomHotBoard()))));
+            }
+            for (int i = 0; i < config.writers(); i++) {
+                workers.execute(() -> repeat(config.writeInterval(),
+                        scheduled -> call("display", scheduled, put("/display/" + randomHotBoard(), Map.of("data", "data-" + scheduled)))));
+            }
+            workers.execute(() -> repeat(config.listInterval(),
+                    scheduled -> call("list", scheduled, get("/list?includeData=false"))));
+            workers.execute(() -> repeat(config.deleteAllInterval(), scheduled -> {
+                call("delete/all", scheduled, delete("/delete/all?prefix=" + SCRATCH_PREFIX));
+                call("batch/create", System.nanoTime(), post("/batch/create", Map.of("items", scratchBoards(scheduled))));
+            }));
+        }
+
+        report();
+    }
+
+    /**
+     * Runs the given step in the given interval until the end of the load test.
+     * The first run is delayed by a random part of the interval, so the workers do not send their requests in lockstep.
+     * @param interval  The interval, zero runs the step again as soon as it finished.
+     * @param step      The step, called with the time it was scheduled for.
+     */
+    private void repeat(Duration interval, Step step) {
+        long next = System.nanoTime() + (interval.isZero() ? 0 : ThreadLocalRandom.current().nextLong(interval.toNanos()));
+        while (next < endNanos) {
+            LockSupport.parkNanos(next - System.nanoTime());
+            step.run(next);
+            next = interval.isZero() ? System.nanoTime() : next + interval.toNanos();
+        }
+    }
+
+    private void call(String endpoint, long scheduledNanos, HttpRequest request) {
+        boolean successful = send(request);
+        if (scheduledNanos >= measureStartNanos && scheduledNanos < endNanos) {
+            recorder.record(endpoint, scheduledNanos, System.nanoTime(), successful);
+        }
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void createHotBoards() {
+        for (int i = 0; i < config.hotBoards(); i++) {
+            // An existing blackboard is answered with 409, which is fine when running against the same application again
+            send(post("/create", Map.of("name", hotBoard(i), "validityInSeconds", 0)));
+            send(put("/display/" + hotBoard(i), Map.of("data", "initial data")));
+        }
+    }
+
+    private List<Map<String, Object>> scratchBoards(long cycle) {
+        List<Map<String, Object>> items = new ArrayList<>(config.scratchBoards());
+        for (int i = 0; i < config.scratchBoards(); i++) {
+            items.add(Map.of("name", SCRATCH_PREFIX + cycle % 1_000_000 + "-" + i, "validityInSeconds", config.scratchValidity()));
+        }
+        return items;
+    }
+
+    private String randomHotBoard() {
+        return hotBoard(ThreadLocalRandom.current().nextInt(config.hotBoards()));
+    }
+
+    private static String hotBoard(int index) {
+        return "hot-board-" + index;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest delete(String path) {
+        return request(path).DELETE().build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        return request(path).header("Content-Type", "application/json").PUT(json(body)).build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return request(path).header("Content-Type", "application/json").POST(json(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Request body cannot be serialized", ex);
+        }
+    }
+
+    /**
+     * Prints the throughput and latencies per endpoint and the 99th percentile per phase within a second,
+     * and writes them to the output file.
+     */
+    private void report() throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-14s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        recorder.endpoints().forEach((endpoint, stats) -> {
+            Histogram latencies = stats.latencies;
+            long requests = latencies.getTotalCount();
+            System.out.printf("%-14s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint, requests, stats.errors.sum(),
+                    requests / seconds, millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0);
+            endpoints.put(endpoint, Map.of(
+                    "requests", requests,
+                    "errors", stats.errors.sum(),
+                    "throughput", requests / seconds,
+                    "p50", millis(latencies, 50),
+                    "p99", millis(latencies, 99),
+                    "p999", millis(latencies, 99.9),
+                    "max", latencies.getMaxValue() / 1000.0));
+        });
+
+        List<Double> phases = new ArrayList<>(LatencyRecorder.PHASES);
+        System.out.printf("%np99 ms by phase within a second (the expiry task runs once per second):%n");
+        for (int i = 0; i < LatencyRecorder.PHASES; i++) {
+            double p99 = millis(recorder.phase(i), 99);
+            phases.add(p99);
+            System.out.printf("  %3d-%3d ms: %9.2f%n", i * 100, (i + 1) * 100, p99);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("config", config.toString());
+        results.put("endpoints", endpoints);
+        results.put("p99ByPhase", phases);
+        Files.createDirectories(config.output().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(config.output().toFile(), results);
+        System.out.printf("%nResults written to %s%n", config.output().toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run(long scheduledNanos);
+    }
+}
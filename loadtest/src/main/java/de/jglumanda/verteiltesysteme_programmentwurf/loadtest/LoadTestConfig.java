@@ -0,0 +1,78 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Workload of a load test, parsed from arguments of the form {@code --key=value}.
+ * Intervals of zero let a worker send its next request as soon as the previous one is answered.
+ * @param url                   The base URL of a running application or null to start the application against an embedded MongoDB.
+ * @param profiles              The profiles the started application is run with, e.g. "virtual-threads".
+ * @param warmup                The time the workload runs before latencies are recorded.
+ * @param duration              The time latencies are recorded.
+ * @param hotBoards             The number of blackboards read and written by the readers and writers.
+ * @param readers               The number of workers reading the hot blackboards.
+ * @param readInterval          The time between two reads of a reader.
+ * @param writers               The number of workers displaying data on the hot blackboards.
+ * @param writeInterval         The time between two writes of a writer.
+ * @param listInterval          The time between two requests listing all blackboards.
+ * @param deleteAllInterval     The time between two requests deleting the scratch blackboards.
+ * @param scratchBoards         The number of scratch blackboards created before each deletion.
+ * @param scratchValidity       The validity period of the scratch blackboards in seconds, so the expiry task has work.
+ * @param output                The file the results are written to as JSON.
+ */
+record LoadTestConfig(String url, String profiles, Duration warmup, Duration duration,
+                      int hotBoards, int readers, Duration readInterval, int writers, Duration writeInterval,
+                      Duration listInterval, Duration deleteAllInterval, int scratchBoards, long scratchValidity,
+                      Path output) {
+
+    private static final Set<String> KEYS = Set.of("url", "profiles", "warmup", "duration", "hot-boards", "readers",
+            "read-interval", "writers", "write-interval", "list-interval", "delete-all-interval", "scratch-boards",
+            "scratch-validity", "output");
+
+    /**
+     * Parses the workload from the given arguments, all durations are given in milliseconds.
+     * @param args  The arguments of the load test.
+     * @return      The workload.
+     */
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments have to be given as --key=value, got '" + arg + "'");
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown argument '" + key + "', known arguments are " + KEYS);
+            }
+            values.put(key, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return new LoadTestConfig(
+                values.get("url"),
+                values.getOrDefault("profiles", ""),
+                millis(values, "warmup", 10_000),
+                millis(values, "duration", 60_000),
+                integer(values, "hot-boards", 10),
+                integer(values, "readers", 100),
+                millis(values, "read-interval", 50),
+                integer(values, "writers", 10),
+                millis(values, "write-interval", 100),
+                millis(values, "list-interval", 1_000),
+                millis(values, "delete-all-interval", 5_000),
+                integer(values, "scratch-boards", 100),
+                integer(values, "scratch-validity", 1),
+                Path.of(values.getOrDefault("output", "build/loadtest/results.json")));
+    }
+
+    private static Duration millis(Map<String, String> values, String key, long defaultValue) {
+        return Duration.ofMillis(values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue);
+    }
+
+    private static int integer(Map<String, String> values, String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+}
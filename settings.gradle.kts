@@ -1 +1,2 @@
 rootProject.name = "VerteilteSysteme_Programmentwurf"
+include("loadtest")
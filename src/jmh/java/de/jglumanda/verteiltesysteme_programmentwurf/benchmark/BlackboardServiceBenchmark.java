@@ -0,0 +1,89 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.benchmark;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the hot paths of the blackboard service with several threads working on the same blackboards.
+ * With a single active blackboard all threads contend for the same lock, with many they mostly do not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class BlackboardServiceBenchmark {
+    private static final DisplayDataDTO DISPLAY_REQUEST = BlackboardServiceFixture.displayRequest("benchmark data");
+
+    @Param({"memory", "embedded", "mongo"})
+    public String backend;
+
+    @Param({"1", "1000"})
+    public int activeBoards;
+
+    private final AtomicLong createdBoards = new AtomicLong();
+    private BlackboardServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BlackboardServiceFixture.start(backend);
+        fixture.seed(activeBoards, 0, System.currentTimeMillis());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Blackboard readCached() {
+        return fixture.service.readBlackboard(randomBoard());
+    }
+
+    @Benchmark
+    public Blackboard readUncached() {
+        String name = randomBoard();
+        fixture.cache.invalidate(name);
+        return fixture.service.readBlackboard(name);
+    }
+
+    @Benchmark
+    public Blackboard display() {
+        return fixture.service.displayBlackboard(randomBoard(), DISPLAY_REQUEST);
+    }
+
+    /**
+     * Creates a new blackboard and deletes it again, so the number of blackboards stays the same during the run.
+     */
+    @Benchmark
+    public Blackboard createAndDelete() {
+        String name = "created-" + createdBoards.incrementAndGet();
+        Blackboard blackboard = fixture.service.createBlackboard(BlackboardServiceFixture.createRequest(name, 0));
+        fixture.service.deleteBlackboard(name);
+        return blackboard;
+    }
+
+    private String randomBoard() {
+        return BlackboardServiceFixture.name(ThreadLocalRandom.current().nextInt(activeBoards));
+    }
+}
@@ -0,0 +1,160 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.CreateBlackboardDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardRepository;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardRepositoryCustomImpl;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardStore;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.EmbeddedBlackboardStore;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.MongoBlackboardStore;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardCache;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardExpiryIndex;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardLockManager;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardMetrics;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardService;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.ExpiryLeaderElection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Blackboard service wired by hand against one of the store backends of the benchmarks.
+ * The backend "memory" uses {@link InMemoryBlackboardStore}, "embedded" the {@link EmbeddedBlackboardStore} in a
+ * temporary directory and "mongo" starts an embedded MongoDB, so the differences show the costs of the persistence.
+ */
+final class BlackboardServiceFixture implements AutoCloseable {
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    final BlackboardStore store;
+    final BlackboardCache cache;
+    final BlackboardExpiryIndex expiryIndex;
+    final BlackboardService service;
+    private final List<AutoCloseable> resources;
+
+    private BlackboardServiceFixture(BlackboardStore store, List<AutoCloseable> resources) {
+        this.store = store;
+        this.cache = new BlackboardCache(100_000);
+        this.expiryIndex = new BlackboardExpiryIndex();
+        this.service = new BlackboardService(store, cache, expiryIndex, event -> {
+        }, new BlackboardMetrics(new SimpleMeterRegistry()), new ExpiryLeaderElection(null, false, 0),
+                new BlackboardLockManager(1024));
+        this.resources = resources;
+    }
+
+    /**
+     * Starts the given backend and creates a service using it.
+     * @param backend   The backend, either "memory", "embedded" or "mongo".
+     * @return          The fixture.
+     */
+    static BlackboardServiceFixture start(String backend) {
+        return switch (backend) {
+            case "memory" -> new BlackboardServiceFixture(new InMemoryBlackboardStore(), List.of());
+            case "embedded" -> startEmbedded();
+            case "mongo" -> startMongo();
+            default -> throw new IllegalArgumentException("Unknown backend '" + backend + "'");
+        };
+    }
+
+    private static BlackboardServiceFixture startEmbedded() {
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("blackboard-benchmark");
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not create the directory of the embedded store", ex);
+        }
+        EmbeddedBlackboardStore store = new EmbeddedBlackboardStore(directory.toString(), 16 << 20, true, 16 << 20);
+        store.open();
+        return new BlackboardServiceFixture(store, List.of(store::close, () -> deleteRecursively(directory)));
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static BlackboardServiceFixture startMongo() {
+        TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance().start(Version.Main.V7_0);
+        MongoClient client = MongoClients.create("mongodb://" + mongod.current().getServerAddress());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "blackboard-benchmark");
+        mongoTemplate.dropCollection(Blackboard.class);
+        BlackboardRepository repository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(BlackboardRepository.class, new BlackboardRepositoryCustomImpl(mongoTemplate));
+        return new BlackboardServiceFixture(new MongoBlackboardStore(repository), List.of(client, mongod));
+    }
+
+    /**
+     * Replaces all blackboards in the store by the given number of blackboards named by {@link #name(int)}.
+     * The cache and the expiry index are cleared, so they do not refer to the removed blackboards.
+     * The log of the embedded store is compacted once the removed blackboards make up most of it, as in the application.
+     * @param count                 The number of blackboards.
+     * @param validityInSeconds     The validity period of the blackboards.
+     * @param lastUpdated           The time of the last update of the blackboards.
+     * @return                      The stored blackboards.
+     */
+    List<Blackboard> seed(int count, long validityInSeconds, long lastUpdated) {
+        store.deleteAll();
+        if (store instanceof EmbeddedBlackboardStore embeddedStore) {
+            embeddedStore.compactIfNeeded();
+        }
+        cache.invalidateAll();
+        expiryIndex.clear();
+
+        List<Blackboard> blackboards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Blackboard blackboard = new Blackboard();
+            blackboard.setName(name(i));
+            blackboard.setData("");
+            blackboard.setValidityInSeconds(validityInSeconds);
+            blackboard.setLastUpdated(lastUpdated);
+            blackboard.setStatus(Status.VALID);
+            blackboards.add(blackboard);
+        }
+        for (int from = 0; from < count; from += SEED_BATCH_SIZE) {
+            store.insertAllSkippingExisting(blackboards.subList(from, Math.min(from + SEED_BATCH_SIZE, count)));
+        }
+        return blackboards;
+    }
+
+    static String name(int index) {
+        return "board-" + index;
+    }
+
+    static CreateBlackboardDTO createRequest(String name, long validityInSeconds) {
+        CreateBlackboardDTO createBlackboardDTO = new CreateBlackboardDTO();
+        createBlackboardDTO.setName(name);
+        createBlackboardDTO.setValidityInSeconds(validityInSeconds);
+        return createBlackboardDTO;
+    }
+
+    static DisplayDataDTO displayRequest(String data) {
+        DisplayDataDTO displayDataDTO = new DisplayDataDTO();
+        displayDataDTO.setData(data);
+        return displayDataDTO;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.benchmark;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duration of a run of the expiry task of the blackboard service.
+ * Before every measured run all blackboards are stored again with a validity period that has already passed,
+ * so the run has to invalidate all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ExpiryBenchmark {
+    @Param({"memory", "embedded", "mongo"})
+    public String backend;
+
+    @Param({"1000", "10000", "100000"})
+    public int boards;
+
+    private BlackboardServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BlackboardServiceFixture.start(backend);
+        // The first run loads the expiry index from the store, which is not part of the measurement
+        fixture.service.updateBlackboardStatus();
+    }
+
+    @Setup(Level.Iteration)
+    public void seedExpiredBoards() {
+        List<Blackboard> blackboards = fixture.seed(boards, 1, System.currentTimeMillis() - 2000);
+        blackboards.forEach(fixture.expiryIndex::schedule);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public int expireAll() {
+        fixture.service.updateBlackboardStatus();
+        return fixture.expiryIndex.size();
+    }
+}
@@ -0,0 +1,221 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.benchmark;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardStore;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory stand-in for the blackboard store, so the benchmarks can measure the service without a database.
+ * The blackboards are kept ordered by name, so listing and paging behave like the other stores.
+ * Every method returns copies, like documents read from MongoDB, and every single-board write is atomic.
+ */
+final class InMemoryBlackboardStore implements BlackboardStore {
+    private final ConcurrentSkipListMap<String, Blackboard> blackboards = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Blackboard insert(Blackboard blackboard) {
+        Blackboard inserted = copy(blackboard, true);
+        inserted.setVersion(0L);
+        if (blackboards.putIfAbsent(inserted.getName(), inserted) != null) {
+            throw new DuplicateKeyException("Blackboard with name '" + inserted.getName() + "' already exists");
+        }
+        return copy(inserted, true);
+    }
+
+    @Override
+    public Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> insertedBlackboards) {
+        Map<Integer, DataAccessException> failures = new HashMap<>();
+        for (int i = 0; i < insertedBlackboards.size(); i++) {
+            Blackboard inserted = copy(insertedBlackboards.get(i), true);
+            inserted.setVersion(0L);
+            if (blackboards.putIfAbsent(inserted.getName(), inserted) != null) {
+                failures.put(i, new DuplicateKeyException("Blackboard with name '" + inserted.getName() + "' already exists"));
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Optional<Blackboard> findById(String name) {
+        return Optional.ofNullable(blackboards.get(name)).map(blackboard -> copy(blackboard, true));
+    }
+
+    @Override
+    public List<Blackboard> findAllById(Collection<String> names) {
+        return names.stream()
+                .distinct()
+                .map(blackboards::get)
+                .filter(Objects::nonNull)
+                .map(blackboard -> copy(blackboard, true))
+                .toList();
+    }
+
+    @Override
+    public Blackboard display(String name, String data, long lastUpdated) {
+        return update(name, data, lastUpdated, Status.VALID);
+    }
+
+    @Override
+    public void displayAll(Map<String, String> dataByName, long lastUpdated) {
+        dataByName.forEach((name, data) -> update(name, data, lastUpdated, Status.VALID));
+    }
+
+    @Override
+    public Blackboard clear(String name, long lastUpdated) {
+        return update(name, "", lastUpdated, Status.INVALID);
+    }
+
+    @Override
+    public void clearAll(Collection<String> names, long lastUpdated) {
+        names.forEach(name -> update(name, "", lastUpdated, Status.INVALID));
+    }
+
+    @Override
+    public long deleteAndCount(String name) {
+        return blackboards.remove(name) == null ? 0L : 1L;
+    }
+
+    @Override
+    public List<String> deleteAllExisting(Collection<String> names) {
+        return names.stream().distinct().filter(name -> blackboards.remove(name) != null).toList();
+    }
+
+    @Override
+    public long deleteMatching(BlackboardFilter filter) {
+        List<String> names = matching(filter, null).map(Blackboard::getName).toList();
+        return names.stream().filter(name -> blackboards.remove(name) != null).count();
+    }
+
+    @Override
+    public void deleteAll() {
+        blackboards.clear();
+    }
+
+    @Override
+    public long count() {
+        return blackboards.size();
+    }
+
+    @Override
+    public List<Blackboard> findAll(BlackboardFilter filter, boolean includeData) {
+        return matching(filter, null).map(blackboard -> copy(blackboard, includeData)).toList();
+    }
+
+    @Override
+    public List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData) {
+        return matching(filter, after).limit(limit).map(blackboard -> copy(blackboard, includeData)).toList();
+    }
+
+    @Override
+    public Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData) {
+        return matching(filter, null).map(blackboard -> copy(blackboard, includeData));
+    }
+
+    @Override
+    public List<Blackboard> findAllByStatusAndValidityInSecondsGreaterThan(Status status, long validityInSeconds) {
+        return blackboards.values().stream()
+                .filter(blackboard -> blackboard.getStatus() == status && blackboard.getValidityInSeconds() > validityInSeconds)
+                .map(blackboard -> copy(blackboard, true))
+                .toList();
+    }
+
+    @Override
+    public List<String> invalidateExpired(Collection<String> names, long currentTime) {
+        List<String> expiredNames = new ArrayList<>();
+        for (String name : names) {
+            blackboards.computeIfPresent(name, (key, blackboard) -> {
+                if (!isExpired(blackboard, currentTime)) {
+                    return blackboard;
+                }
+                Blackboard next = copy(blackboard, true);
+                next.setStatus(Status.INVALID);
+                next.setVersion(blackboard.getVersion() + 1);
+                expiredNames.add(name);
+                return next;
+            });
+        }
+        return expiredNames;
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        // Every blackboard is inserted with a version
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryBlackboardStore(" + blackboards.size() + " blackboards)";
+    }
+
+    private Blackboard update(String name, String data, long lastUpdated, Status status) {
+        Blackboard updated = blackboards.computeIfPresent(name, (key, blackboard) -> {
+            Blackboard next = copy(blackboard, true);
+            next.setData(data);
+            next.setLastUpdated(lastUpdated);
+            next.setStatus(status);
+            next.setVersion(blackboard.getVersion() + 1);
+            return next;
+        });
+        return updated == null ? null : copy(updated, true);
+    }
+
+    /**
+     * Streams the blackboards matching the given filter ordered by name, starting at the prefix or after the given name.
+     * @param filter    The filter the blackboards have to match.
+     * @param after     The name after which the blackboards start or null to start at the beginning.
+     * @return          The matching blackboards as stored in the map.
+     */
+    private Stream<Blackboard> matching(BlackboardFilter filter, String after) {
+        String prefix = filter.getPrefix();
+        NavigableMap<String, Blackboard> range = blackboards;
+        if (prefix != null && (after == null || prefix.compareTo(after) > 0)) {
+            range = blackboards.tailMap(prefix, true);
+        } else if (after != null) {
+            range = blackboards.tailMap(after, false);
+        }
+
+        Stream<Blackboard> matching = range.values().stream();
+        if (prefix != null) {
+            matching = matching.takeWhile(blackboard -> blackboard.getName().startsWith(prefix));
+        }
+        if (filter.getStatus() != null) {
+            matching = matching.filter(blackboard -> blackboard.getStatus() == filter.getStatus());
+        }
+        if (filter.getUpdatedBefore() != null) {
+            matching = matching.filter(blackboard -> blackboard.getLastUpdated() < filter.getUpdatedBefore());
+        }
+        return matching;
+    }
+
+    private static boolean isExpired(Blackboard blackboard, long currentTime) {
+        return blackboard.getStatus() == Status.VALID
+                && blackboard.getValidityInSeconds() > 0
+                && blackboard.getLastUpdated() + blackboard.getValidityInSeconds() * 1000 < currentTime;
+    }
+
+    private static Blackboard copy(Blackboard blackboard, boolean includeData) {
+        Blackboard copy = new Blackboard();
+        copy.setName(blackboard.getName());
+        copy.setData(includeData ? blackboard.getData() : null);
+        copy.setValidityInSeconds(blackboard.getValidityInSeconds());
+        copy.setLastUpdated(blackboard.getLastUpdated());
+        copy.setStatus(blackboard.getStatus());
+        copy.setVersion(blackboard.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,54 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of the per-blackboard locks of the service, measured with writes against the in-memory store.
+ * With few blackboards the threads wait for each other, with many they mostly lock different stripes;
+ * comparing the runs shows the costs of contention and of the false sharing of stripes by unrelated blackboards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LockChurnBenchmark {
+    @Param({"1", "64", "100000"})
+    public int activeBoards;
+
+    private BlackboardServiceFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = BlackboardServiceFixture.start("memory");
+        fixture.seed(activeBoards, 0, System.currentTimeMillis());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void clear() {
+        fixture.service.clearBlackboard(BlackboardServiceFixture.name(ThreadLocalRandom.current().nextInt(activeBoards)));
+    }
+}
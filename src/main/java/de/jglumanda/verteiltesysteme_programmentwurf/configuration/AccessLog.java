@@ -0,0 +1,166 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log written by a background thread through a ring buffer of reusable entries.
+ * Request threads only copy a few references into a free entry; formatting and writing the log happen on the
+ * background thread. If the buffer is full, the entry is dropped and counted instead of blocking the request.
+ */
+@Component
+public class AccessLog {
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+
+    private final Entry[] entries;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread writer;
+    private volatile long written;
+    private volatile boolean running = true;
+    private volatile boolean waiting;
+
+    public AccessLog(@Value("${blackboard.access-log.buffer-size:8192}") int bufferSize, MeterRegistry meterRegistry) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;
+        this.entries = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry(i - capacity);
+        }
+        this.mask = capacity - 1;
+        FunctionCounter.builder("blackboard.access.log.dropped", dropped, LongAdder::sum)
+                .description("Access log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("access-log").daemon(true).start(this::writeEntries);
+    }
+
+    /**
+     * Appends a request to the access log without waiting for it to be written.
+     * @param timestamp         The time the request was received in milliseconds.
+     * @param method            The HTTP method of the request.
+     * @param uri               The URI of the request.
+     * @param queryString       The query string of the request or null.
+     * @param client            The address of the client.
+     * @param status            The HTTP status of the response.
+     * @param durationNanos     The time needed to handle the request.
+     * @param payload           The captured payload of the request or null.
+     */
+    public void append(long timestamp, String method, String uri, String queryString, String client,
+                       int status, long durationNanos, String payload) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - written >= entries.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Entry entry = entries[(int) (sequence & mask)];
+        entry.timestamp = timestamp;
+        entry.method = method;
+        entry.uri = uri;
+        entry.queryString = queryString;
+        entry.client = client;
+        entry.status = status;
+        entry.durationNanos = durationNanos;
+        entry.payload = payload;
+        entry.sequence = sequence;
+        if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Writes the published entries in order until the access log is shut down and all entries are written.
+     * While there is nothing to write, the thread parks until a request thread publishes an entry.
+     */
+    private void writeEntries() {
+        long next = 0;
+        while (running || next < claimed.get()) {
+            Entry entry = entries[(int) (next & mask)];
+            if (entry.sequence != next) {
+                if (running) {
+                    waiting = true;
+                    // Checks again after announcing the wait, an entry published in between would not unpark the thread
+                    if (entry.sequence != next && running) {
+                        LockSupport.park(this);
+                    }
+                    waiting = false;
+                    continue;
+                }
+                // A request thread claimed the entry but never published it, which can only happen on shutdown
+                break;
+            }
+            write(entry);
+            entry.clear();
+            written = ++next;
+        }
+    }
+
+    private void write(Entry entry) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(entry.timestamp)).append(' ')
+                .append(entry.client).append(' ')
+                .append(entry.method).append(' ')
+                .append(entry.uri);
+        if (entry.queryString != null) {
+            line.append('?').append(entry.queryString);
+        }
+        line.append(' ').append(entry.status).append(' ')
+                .append(TimeUnit.NANOSECONDS.toMicros(entry.durationNanos)).append("us");
+        if (entry.payload != null) {
+            line.append(" payload=").append(entry.payload);
+        }
+        log.info(line.toString());
+    }
+
+    /**
+     * Stops the background thread after it has written the remaining entries.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * A reusable entry of the ring buffer. The entry is published by writing its sequence number last.
+     */
+    private static final class Entry {
+        private long timestamp;
+        private String method;
+        private String uri;
+        private String queryString;
+        private String client;
+        private int status;
+        private long durationNanos;
+        private String payload;
+        private volatile long sequence;
+
+        private Entry(long sequence) {
+            this.sequence = sequence;
+        }
+
+        private void clear() {
+            method = null;
+            uri = null;
+            queryString = null;
+            client = null;
+            payload = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes the requests handled in the blocking mode to the {@link AccessLog}.
+ * Requests that change blackboards are always logged, so the audit trail is complete; reading requests are sampled.
+ * The payload is only buffered for the paths configured in {@code blackboard.access-log.payload-paths}.
+ */
+@Component
+@Profile("!reactive")
+public class AccessLogFilter extends OncePerRequestFilter {
+    private final AccessLog accessLog;
+    private final double sampleRate;
+    private final List<String> payloadPaths;
+    private final int maxPayloadLength;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public AccessLogFilter(AccessLog accessLog,
+                           @Value("${blackboard.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${blackboard.access-log.payload-paths:}") List<String> payloadPaths,
+                           @Value("${blackboard.access-log.max-payload-length:1000}") int maxPayloadLength) {
+        this.accessLog = accessLog;
+        this.sampleRate = sampleRate;
+        this.payloadPaths = payloadPaths;
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!isLogged(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        HttpServletRequest loggedRequest = capturesPayload(request)
+                ? new ContentCachingRequestWrapper(request, maxPayloadLength)
+                : request;
+        try {
+            filterChain.doFilter(loggedRequest, response);
+        } finally {
+            accessLog.append(timestamp, request.getMethod(), request.getRequestURI(), request.getQueryString(),
+                    request.getRemoteAddr(), response.getStatus(), System.nanoTime() - startNanos, payloadOf(loggedRequest));
+        }
+    }
+
+    private boolean isLogged(HttpServletRequest request) {
+        boolean reading = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        return !reading || sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private boolean capturesPayload(HttpServletRequest request) {
+        if (payloadPaths.isEmpty()) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        for (String payloadPath : payloadPaths) {
+            if (pathMatcher.match(payloadPath, uri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String payloadOf(HttpServletRequest request) {
+        if (request instanceof ContentCachingRequestWrapper wrapper) {
+            return new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes the requests handled in the reactive mode to the {@link AccessLog}, sampled like the {@link AccessLogFilter}.
+ * It runs before the {@link RateLimitWebFilter}, so rejected requests are logged as well.
+ * The payload is never captured, as buffering the request body would hold it in memory until the response is sent.
+ */
+@Component
+@Profile("reactive")
+@Order(AccessLogWebFilter.ORDER)
+public class AccessLogWebFilter implements WebFilter {
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private final AccessLog accessLog;
+    private final double sampleRate;
+
+    public AccessLogWebFilter(AccessLog accessLog,
+                              @Value("${blackboard.access-log.sample-rate:1.0}") double sampleRate) {
+        this.accessLog = accessLog;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!isLogged(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        long timestamp = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            accessLog.append(timestamp, request.getMethod().name(), request.getPath().value(), request.getURI().getRawQuery(),
+                    ClientAddresses.of(request), status == null ? HttpStatus.OK.value() : status.value(),
+                    System.nanoTime() - startNanos, null);
+        });
+    }
+
+    private boolean isLogged(HttpMethod method) {
+        boolean reading = HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+        return !reading || sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
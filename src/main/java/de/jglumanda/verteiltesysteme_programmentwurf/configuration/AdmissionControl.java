@@ -0,0 +1,147 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.TooManyRequestsException;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardMetrics;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.OverloadDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of the blackboard controllers, applied by the {@link RateLimitInterceptor} in the
+ * blocking mode and by the {@link RateLimitWebFilter} in the reactive mode.
+ * While the {@link OverloadDetector} reports an overload, all requests are shed. Otherwise every client may send
+ * requests to every endpoint at the rate of a token bucket, which can be overridden per endpoint with {@link RateLimit}.
+ * The buckets are kept as theoretical arrival times (GCRA), so taking a token is a single compare-and-set on one
+ * counter and no thread ever blocks. A bucket is dropped once it would be full again, so idle clients cost nothing.
+ * Clients are told apart by their remote address. Behind a load balancer this is the forwarded client address
+ * only if {@code server.forward-headers-strategy} is set, as the cluster profile does; otherwise all clients share a bucket.
+ */
+@Component
+public class AdmissionControl {
+    private final OverloadDetector overloadDetector;
+    private final BlackboardMetrics metrics;
+    private final boolean rateLimitEnabled;
+    private final boolean loadSheddingEnabled;
+    private final Limit defaultLimit;
+    private final long sheddingRetryAfterSeconds;
+    private final ConcurrentHashMap<Method, Limit> limits = new ConcurrentHashMap<>();
+    private final Cache<BucketKey, AtomicLong> buckets;
+
+    public AdmissionControl(OverloadDetector overloadDetector, BlackboardMetrics metrics,
+                            @Value("${blackboard.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                            @Value("${blackboard.rate-limit.capacity:100}") int capacity,
+                            @Value("${blackboard.rate-limit.refill-per-second:50}") double refillPerSecond,
+                            @Value("${blackboard.rate-limit.max-clients:100000}") long maxClients,
+                            @Value("${blackboard.load-shedding.enabled:true}") boolean loadSheddingEnabled,
+                            @Value("${blackboard.load-shedding.retry-after:1}") long sheddingRetryAfterSeconds) {
+        this.overloadDetector = overloadDetector;
+        this.metrics = metrics;
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.loadSheddingEnabled = loadSheddingEnabled;
+        this.defaultLimit = new Limit(capacity, refillPerSecond);
+        this.sheddingRetryAfterSeconds = sheddingRetryAfterSeconds;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfter(new BucketExpiry())
+                .build();
+    }
+
+    /**
+     * Admits a request of the given client to an endpoint or rejects it.
+     * @param client                    The address of the client.
+     * @param handlerMethod             The controller method handling the request.
+     * @throws TooManyRequestsException If the service is overloaded or the client exceeded its rate limit.
+     */
+    public void admit(String client, HandlerMethod handlerMethod) {
+        if (loadSheddingEnabled && overloadDetector.isOverloaded()) {
+            metrics.recordShed();
+            throw new TooManyRequestsException("Service is overloaded", sheddingRetryAfterSeconds);
+        }
+        if (rateLimitEnabled) {
+            long waitNanos = tryAcquire(new BucketKey(client, limitOf(handlerMethod)));
+            if (waitNanos > 0) {
+                metrics.recordRateLimited();
+                long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+                throw new TooManyRequestsException("Rate limit exceeded", retryAfterSeconds);
+            }
+        }
+    }
+
+    /**
+     * Takes a token from the bucket of the given client and endpoint.
+     * @param key   The client and the limit of the endpoint.
+     * @return      0 if a token was taken, otherwise the time until the next token is available.
+     */
+    private long tryAcquire(BucketKey key) {
+        Limit limit = key.limit();
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(System.nanoTime()));
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long start = current - now > 0 ? current : now;
+            long waitNanos = start - now - limit.burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    private Limit limitOf(HandlerMethod handlerMethod) {
+        Limit limit = limits.get(handlerMethod.getMethod());
+        if (limit == null) {
+            RateLimit rateLimit = handlerMethod.getMethodAnnotation(RateLimit.class);
+            limit = limits.computeIfAbsent(handlerMethod.getMethod(), method -> rateLimit == null
+                    ? defaultLimit
+                    : new Limit(rateLimit.capacity(), rateLimit.refillPerSecond()));
+        }
+        return limit;
+    }
+
+    /**
+     * Rate of a token bucket, compared by identity so the buckets of different endpoints stay apart.
+     */
+    private static final class Limit {
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        private Limit(int capacity, double refillPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+            this.burstNanos = (capacity - 1) * intervalNanos;
+        }
+    }
+
+    private record BucketKey(String client, Limit limit) {
+    }
+
+    /**
+     * Expires a bucket once it would be full again, as a new bucket starts full as well.
+     */
+    private static final class BucketExpiry implements Expiry<BucketKey, AtomicLong> {
+        @Override
+        public long expireAfterCreate(BucketKey key, AtomicLong value, long currentTime) {
+            return key.limit().burstNanos + key.limit().intervalNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(BucketKey key, AtomicLong value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(BucketKey key, AtomicLong value, long currentTime, long currentDuration) {
+            return key.limit().burstNanos + key.limit().intervalNanos;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Addresses of the clients of reactive requests, in the same form as the remote address of a servlet request
+ */
+final class ClientAddresses {
+
+    private ClientAddresses() {
+    }
+
+    /**
+     * Determines the address of the client that sent the given request.
+     * Behind a proxy this is the forwarded client address if {@code server.forward-headers-strategy} is set.
+     * @param request   The reactive request.
+     * @return          The IP address of the client or "unknown" if the connection has no remote address.
+     */
+    static String of(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString();
+    }
+}
@@ -0,0 +1,19 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.service.OverloadDetector;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link OverloadDetector} as listener of the commands sent to MongoDB.
+ * The customizer applies to the blocking and the reactive client alike, so the latency is measured in both modes.
+ */
+@Configuration
+public class MongoCommandListenerConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer overloadDetectorCommandListener(OverloadDetector overloadDetector) {
+        return settings -> settings.addCommandListener(overloadDetector);
+    }
+}
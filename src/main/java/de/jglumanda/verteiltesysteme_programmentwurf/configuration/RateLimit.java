@@ -0,0 +1,24 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the default rate limit of the {@link AdmissionControl} for an endpoint, e.g. for expensive operations.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * @return The number of requests a client may send at once.
+     */
+    int capacity();
+
+    /**
+     * @return The number of requests per second a client may send continuously.
+     */
+    double refillPerSecond();
+}
@@ -0,0 +1,29 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the {@link AdmissionControl} to the requests handled by the blocking blackboard controllers.
+ * Rejected requests are answered with status 429 and a Retry-After header by the global exception handler.
+ */
+@Component
+@Profile("!reactive")
+@AllArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private final AdmissionControl admissionControl;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && handler instanceof HandlerMethod handlerMethod) {
+            admissionControl.admit(request.getRemoteAddr(), handlerMethod);
+        }
+        return true;
+    }
+}
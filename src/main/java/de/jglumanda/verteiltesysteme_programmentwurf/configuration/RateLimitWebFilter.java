@@ -0,0 +1,79 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.ErrorResponse;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Applies the {@link AdmissionControl} to the requests handled by the reactive blackboard controller, so the reactive
+ * mode sheds load and limits the rate of the clients like the blocking one.
+ * The controller method is looked up through the handler mapping, so {@link RateLimit} overrides apply as well.
+ * Web filters run outside the controller advice, so rejected requests are answered here with status 429, a
+ * Retry-After header and the same body as the global exception handler.
+ */
+@Component
+@Profile("reactive")
+@Order(AccessLogWebFilter.ORDER + 1)
+public class RateLimitWebFilter implements WebFilter {
+    private static final PathPattern API_PATHS = PathPatternParser.defaultInstance.parse("/api/v1/blackboard/**");
+
+    private final AdmissionControl admissionControl;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitWebFilter(AdmissionControl admissionControl,
+                              @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                              ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.handlerMapping = handlerMapping;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!API_PATHS.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+        return handlerMapping.getHandler(exchange)
+                // Requests without a matching controller method are answered by the dispatcher as usual
+                .onErrorResume(ResponseStatusException.class, ex -> Mono.empty())
+                .ofType(HandlerMethod.class)
+                .doOnNext(handlerMethod -> admissionControl.admit(ClientAddresses.of(exchange.getRequest()), handlerMethod))
+                .then(Mono.defer(() -> chain.filter(exchange)))
+                .onErrorResume(TooManyRequestsException.class, ex -> reject(exchange.getResponse(), ex));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, TooManyRequestsException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("Too many requests", List.of(ex.getMessage()));
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,48 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Logs the time from the start of the JVM until the application is ready and the resident memory at that point.
+ * The line is read by the startupReport task of the build, so its format must not change.
+ */
+@Component
+public class StartupReporter {
+    private static final Logger log = LoggerFactory.getLogger(StartupReporter.class);
+    private static final Path PROCESS_STATUS = Path.of("/proc/self/status");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportStartup() {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready after {} ms, resident memory {} MB", uptime, residentMemoryMegabytes());
+    }
+
+    /**
+     * Reads the resident set size of the process, which is only available on Linux.
+     * @return The resident memory in megabytes or "unknown".
+     */
+    private static String residentMemoryMegabytes() {
+        try {
+            List<String> lines = Files.readAllLines(PROCESS_STATUS);
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    long kilobytes = Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+                    return String.valueOf(kilobytes / 1024);
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // Not running on Linux
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,79 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.controller;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchCreateDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchDisplayDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchNamesDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchResultDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.ErrorResponse;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for operations on multiple blackboards per request.
+ * Every item gets its own result, so a batch can partially fail.
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/blackboard/batch")
+@AllArgsConstructor
+@Tag(name = "Blackboard batch", description = "API for managing multiple blackboards per request")
+@ApiResponse(responseCode = "200", description = "Successful operation, the status of each item is part of the result", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchResultDTO.class))))
+@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+@ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+public class BlackboardBatchController {
+
+    private final BlackboardService blackboardService;
+
+    @Operation(summary = "Creates multiple blackboards", description = "Creates the given blackboards, blackboards whose name is already taken fail with 409")
+    @PostMapping("/create")
+    public ResponseEntity<List<BatchResultDTO>> createBlackboards(
+            @Parameter(description = "The blackboards to create", required = true)
+            @Valid @RequestBody BatchCreateDTO batchCreateDTO) {
+        return ResponseEntity.ok(blackboardService.createBlackboards(batchCreateDTO.getItems()));
+    }
+
+    @Operation(summary = "Displays new data on multiple blackboards", description = "Displays the new data of the given blackboards, unknown blackboards fail with 404")
+    @PutMapping("/display")
+    public ResponseEntity<List<BatchResultDTO>> displayBlackboards(
+            @Parameter(description = "The blackboards and the data to display", required = true)
+            @Valid @RequestBody BatchDisplayDTO batchDisplayDTO) {
+        return ResponseEntity.ok(blackboardService.displayBlackboards(batchDisplayDTO.getItems()));
+    }
+
+    @Operation(summary = "Clears multiple blackboards", description = "Clears the data of the given blackboards, unknown blackboards fail with 404")
+    @PutMapping("/clear")
+    public ResponseEntity<List<BatchResultDTO>> clearBlackboards(
+            @Parameter(description = "The names of the blackboards to clear", required = true)
+            @Valid @RequestBody BatchNamesDTO batchNamesDTO) {
+        return ResponseEntity.ok(blackboardService.clearBlackboards(batchNamesDTO.getNames()));
+    }
+
+    @Operation(summary = "Reads multiple blackboards", description = "Reads the data of the given blackboards, unknown blackboards fail with 404")
+    @PostMapping("/read")
+    public ResponseEntity<List<BatchResultDTO>> readBlackboards(
+            @Parameter(description = "The names of the blackboards to read", required = true)
+            @Valid @RequestBody BatchNamesDTO batchNamesDTO) {
+        return ResponseEntity.ok(blackboardService.readBlackboards(batchNamesDTO.getNames()));
+    }
+
+    @Operation(summary = "Deletes multiple blackboards", description = "Deletes the given blackboards, unknown blackboards fail with 404")
+    @PostMapping("/delete")
+    public ResponseEntity<List<BatchResultDTO>> deleteBlackboards(
+            @Parameter(description = "The names of the blackboards to delete", required = true)
+            @Valid @RequestBody BatchNamesDTO batchNamesDTO) {
+        return ResponseEntity.ok(blackboardService.deleteBlackboards(batchNamesDTO.getNames()));
+    }
+}
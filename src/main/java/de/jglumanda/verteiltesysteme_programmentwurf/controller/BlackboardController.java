@@ -1,8 +1,14 @@
 package de.jglumanda.verteiltesysteme_programmentwurf.controller;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.jglumanda.verteiltesysteme_programmentwurf.configuration.RateLimit;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardHistoryDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardPageDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.dto.CreateBlackboardDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.exception.ErrorResponse;
 import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardHistoryService;
 import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,24 +19,37 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Controller for the blackboard API
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/blackboard")
 @AllArgsConstructor
 @Tag(name = "Blackboard", description = "API for managing blackboards")
 @ApiResponse(responseCode = "404", description = "Resource not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+@ApiResponse(responseCode = "429", description = "Too many requests", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
 @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
 public class BlackboardController {
 
     private final BlackboardService blackboardService;
+    private final BlackboardHistoryService blackboardHistoryService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Creates a blackboard", description = "Creates a blackboard with the given name and validity")
     @ApiResponses( value = {
@@ -74,9 +93,10 @@ public class BlackboardController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Reads the blackboard", description = "Reads the data of the blackboard")
+    @Operation(summary = "Reads the blackboard", description = "Reads the data of the blackboard. The response has an ETag, if it is sent in If-None-Match and the blackboard is unchanged, 304 is returned without the blackboard")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(schema = @Schema(implementation = Blackboard.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
     })
     @GetMapping("/read/{name}")
@@ -84,19 +104,85 @@ public class BlackboardController {
             @Parameter(description = "The name of the blackboard to read", required = true)
             @PathVariable String name) {
         Blackboard blackboard = blackboardService.readBlackboard(name);
-        return ResponseEntity.ok(blackboard);
+        // A matching If-None-Match is answered with 304 by Spring before the body is serialized
+        return ResponseEntity.ok()
+                .eTag(BlackboardETags.of(blackboard))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .body(blackboard);
     }
 
-    @Operation(summary = "Lists all blackboards", description = "Lists all blackboards")
+    @Operation(summary = "Reads the history of the blackboard", description = "Reads the displayed and cleared states of the blackboard after the given sequence number, if the history is enabled")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(schema = @Schema(implementation = BlackboardHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+    })
+    @GetMapping("/read/{name}/history")
+    public ResponseEntity<BlackboardHistoryDTO> readBlackboardHistory(
+            @Parameter(description = "The name of the blackboard", required = true)
+            @PathVariable String name,
+            @Parameter(description = "The sequence number of the last entry known to the client, omitted for all retained entries")
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "Since should be positive or zero") long since) {
+        Blackboard blackboard = blackboardService.readBlackboard(name);
+        BlackboardHistoryDTO history = blackboardHistoryService.readHistory(blackboard, since);
+        return ResponseEntity.ok(history);
+    }
+
+    @Operation(summary = "Lists all blackboards", description = "Lists all blackboards, optionally filtered by status and name prefix")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(array = @ArraySchema(schema = @Schema(implementation = Blackboard.class)))),
     })
     @GetMapping("/list")
-    public ResponseEntity<List<Blackboard>> listBlackboards() {
-        List<Blackboard> blackboards = blackboardService.listBlackboards();
+    public ResponseEntity<List<Blackboard>> listBlackboards(
+            @Parameter(description = "The status, name prefix and time of the last update (updatedBefore, in milliseconds) the blackboards have to match")
+            BlackboardFilter filter,
+            @Parameter(description = "Whether the data of the blackboards is included")
+            @RequestParam(defaultValue = "true") boolean includeData) {
+        List<Blackboard> blackboards = blackboardService.listBlackboards(filter, includeData);
         return ResponseEntity.ok(blackboards);
     }
 
+    @Operation(summary = "Lists a page of blackboards", description = "Lists the blackboards ordered by name, the returned cursor is passed as 'after' to get the next page")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(schema = @Schema(implementation = BlackboardPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+    })
+    @GetMapping("/list/page")
+    public ResponseEntity<BlackboardPageDTO> listBlackboardPage(
+            @Parameter(description = "The status, name prefix and time of the last update (updatedBefore, in milliseconds) the blackboards have to match")
+            BlackboardFilter filter,
+            @Parameter(description = "The cursor of the page, omitted for the first page")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "The maximum number of blackboards on the page")
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "Limit should be at least 1") @Max(value = 1000, message = "Limit should be at most 1000") int limit,
+            @Parameter(description = "Whether the data of the blackboards is included")
+            @RequestParam(defaultValue = "true") boolean includeData) {
+        BlackboardPageDTO page = blackboardService.listBlackboardPage(filter, after, limit, includeData);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Streams all blackboards", description = "Streams the blackboards ordered by name as newline delimited JSON while they are read from the database")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = Blackboard.class))),
+    })
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBlackboards(
+            @Parameter(description = "The status, name prefix and time of the last update (updatedBefore, in milliseconds) the blackboards have to match")
+            BlackboardFilter filter,
+            @Parameter(description = "Whether the data of the blackboards is included")
+            @RequestParam(defaultValue = "true") boolean includeData) {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Blackboard> blackboards = blackboardService.streamBlackboards(filter, includeData)) {
+                Iterator<Blackboard> iterator = blackboards.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Deletes a blackboard", description = "Deletes a blackboard")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "Successful operation"),
@@ -110,14 +196,17 @@ public class BlackboardController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Deletes all blackboards", description = "Deletes all blackboards")
+    @Operation(summary = "Deletes all blackboards", description = "Deletes all blackboards, optionally only those matching the given status, name prefix and last update")
     @ApiResponses( value = {
             @ApiResponse(responseCode = "200", description = "Successful operation"),
             @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @DeleteMapping("/delete/all")
-    public ResponseEntity<Void> deleteAllBlackboards() {
-        blackboardService.deleteAllBlackboards();
+    @RateLimit(capacity = 1, refillPerSecond = 0.1)
+    public ResponseEntity<Void> deleteAllBlackboards(
+            @Parameter(description = "The status, name prefix and time of the last update (updatedBefore, in milliseconds) the blackboards have to match")
+            BlackboardFilter filter) {
+        blackboardService.deleteAllBlackboards(filter);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.controller;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+
+/**
+ * Entity tags of blackboards for conditional reads
+ */
+final class BlackboardETags {
+
+    private BlackboardETags() {
+    }
+
+    /**
+     * Derives the entity tag of a blackboard from its last update and its version.
+     * The version is needed as well, since the expiry changes the status without changing the time of the last update.
+     * The tag is weak, since the same state is sent as JSON, CBOR or Smile, compressed or not, and a strong tag would
+     * have to identify one exact byte representation. Conditional reads compare tags weakly, so they still match.
+     * @param blackboard    The blackboard.
+     * @return              The weak entity tag.
+     */
+    static String of(Blackboard blackboard) {
+        return "W/\"" + blackboard.getLastUpdated() + "-" + blackboard.getVersion() + "\"";
+    }
+}
@@ -0,0 +1,60 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.controller;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.ErrorResponse;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardService;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardSubscriptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Controller for subscribing to blackboard changes
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/blackboard")
+@AllArgsConstructor
+@Tag(name = "Blackboard", description = "API for managing blackboards")
+@ApiResponse(responseCode = "404", description = "Resource not found", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+@ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+public class BlackboardSubscriptionController {
+
+    private final BlackboardService blackboardService;
+    private final BlackboardSubscriptionService subscriptionService;
+
+    @Operation(summary = "Subscribes to a blackboard", description = "Streams the display, clear, delete and expiry events of the blackboard as Server-Sent Events")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+    })
+    @GetMapping(value = "/subscribe/{name}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeBlackboard(
+            @Parameter(description = "The name of the blackboard to subscribe to", required = true)
+            @PathVariable String name) {
+        blackboardService.readBlackboard(name);
+        return subscriptionService.subscribe(List.of(name));
+    }
+
+    @Operation(summary = "Subscribes to multiple blackboards", description = "Streams the display, clear, delete and expiry events of all given blackboards as Server-Sent Events")
+    @ApiResponses( value = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "Bad request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+    })
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeBlackboards(
+            @Parameter(description = "The names of the blackboards to subscribe to", required = true)
+            @RequestParam List<String> names) {
+        names.forEach(blackboardService::readBlackboard);
+        return subscriptionService.subscribe(names);
+    }
+}
@@ -0,0 +1,101 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.controller;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.configuration.RateLimit;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardHistoryDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.CreateBlackboardDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardHistoryService;
+import de.jglumanda.verteiltesysteme_programmentwurf.service.ReactiveBlackboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking controller for the blackboard API, replaces the {@link BlackboardController} in the reactive profile
+ */
+@RestController
+@RequestMapping("/api/v1/blackboard")
+@AllArgsConstructor
+@Profile("reactive")
+@Tag(name = "Blackboard", description = "API for managing blackboards")
+public class ReactiveBlackboardController {
+
+    private final ReactiveBlackboardService blackboardService;
+    private final BlackboardHistoryService blackboardHistoryService;
+
+    @Operation(summary = "Creates a blackboard", description = "Creates a blackboard with the given name and validity")
+    @PostMapping("/create")
+    public Mono<ResponseEntity<Blackboard>> createBlackboard(@Valid @RequestBody CreateBlackboardDTO createBlackboardDTO) {
+        return blackboardService.createBlackboard(createBlackboardDTO).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Displays new data on the blackboard", description = "Displays the new data of a blackboard and updates the status of the blackboard")
+    @PutMapping("/display/{name}")
+    public Mono<ResponseEntity<Blackboard>> displayBlackboard(@PathVariable String name,
+                                                              @Valid @RequestBody DisplayDataDTO displayDataDTO) {
+        return blackboardService.displayBlackboard(name, displayDataDTO).map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Clears the blackboard", description = "Clears the data of the blackboard")
+    @PutMapping("/clear/{name}")
+    public Mono<ResponseEntity<Void>> clearBlackboard(@PathVariable String name) {
+        return blackboardService.clearBlackboard(name).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @Operation(summary = "Reads the blackboard", description = "Reads the data of the blackboard")
+    @GetMapping("/read/{name}")
+    public Mono<ResponseEntity<Blackboard>> readBlackboard(@PathVariable String name) {
+        return blackboardService.readBlackboard(name).map(blackboard -> ResponseEntity.ok()
+                .eTag(BlackboardETags.of(blackboard))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .body(blackboard));
+    }
+
+    @Operation(summary = "Reads the history of the blackboard", description = "Reads the displayed and cleared states of the blackboard after the given sequence number, if the history is enabled")
+    @GetMapping("/read/{name}/history")
+    public Mono<BlackboardHistoryDTO> readBlackboardHistory(@PathVariable String name,
+                                                            @RequestParam(defaultValue = "0") @Min(value = 0, message = "Since should be positive or zero") long since) {
+        return blackboardService.readBlackboard(name)
+                .map(blackboard -> blackboardHistoryService.readHistory(blackboard, since));
+    }
+
+    @Operation(summary = "Lists all blackboards", description = "Lists all blackboards, optionally filtered by status, name prefix and last update")
+    @GetMapping("/list")
+    public Flux<Blackboard> listBlackboards(BlackboardFilter filter,
+                                            @RequestParam(defaultValue = "true") boolean includeData) {
+        return blackboardService.listBlackboards(filter, includeData);
+    }
+
+    @Operation(summary = "Streams all blackboards", description = "Streams the blackboards ordered by name as newline delimited JSON while they are read from the database")
+    @GetMapping(value = "/list/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Blackboard> streamBlackboards(BlackboardFilter filter,
+                                              @RequestParam(defaultValue = "true") boolean includeData) {
+        return blackboardService.listBlackboards(filter, includeData);
+    }
+
+    @Operation(summary = "Deletes a blackboard", description = "Deletes a blackboard")
+    @DeleteMapping("/delete/{name}")
+    public Mono<ResponseEntity<Void>> deleteBlackboard(@PathVariable String name) {
+        return blackboardService.deleteBlackboard(name).then(Mono.just(ResponseEntity.ok().build()));
+    }
+
+    @Operation(summary = "Deletes all blackboards", description = "Deletes all blackboards, optionally only those matching the given status, name prefix and last update")
+    @DeleteMapping("/delete/all")
+    @RateLimit(capacity = 1, refillPerSecond = 0.1)
+    public Mono<ResponseEntity<Void>> deleteAllBlackboards(BlackboardFilter filter) {
+        return blackboardService.deleteAllBlackboards(filter).then(Mono.just(ResponseEntity.ok().build()));
+    }
+}
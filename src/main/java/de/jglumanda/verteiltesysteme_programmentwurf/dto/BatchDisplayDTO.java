@@ -0,0 +1,18 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object for displaying data on multiple blackboards
+ */
+@Data
+public class BatchDisplayDTO {
+    @NotEmpty(message = "Items should not be empty")
+    @Size(max = 1000, message = "Items should contain at most 1000 blackboards")
+    private List<@Valid BatchDisplayItemDTO> items;
+}
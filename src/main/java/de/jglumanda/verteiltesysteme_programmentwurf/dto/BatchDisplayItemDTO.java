@@ -0,0 +1,18 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Data transfer object for displaying data on one blackboard of a batch
+ */
+@Data
+public class BatchDisplayItemDTO {
+    @NotBlank(message = "Name should not be blank")
+    private String name;
+
+    @NotBlank(message = "Data should not be blank")
+    @Size(min = 1, max = 1000, message = "Data should be between 1 and 1000 characters")
+    private String data;
+}
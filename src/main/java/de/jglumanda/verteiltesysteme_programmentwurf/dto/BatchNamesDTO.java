@@ -0,0 +1,18 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object for addressing multiple blackboards by name
+ */
+@Data
+public class BatchNamesDTO {
+    @NotEmpty(message = "Names should not be empty")
+    @Size(max = 1000, message = "Names should contain at most 1000 blackboards")
+    private List<@NotBlank(message = "Name should not be blank") String> names;
+}
@@ -0,0 +1,18 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data transfer object for the result of one item of a batch request.
+ * The status is the HTTP status code the item would have had as a single request.
+ */
+@Data
+@AllArgsConstructor
+public class BatchResultDTO {
+    private String name;
+    private int status;
+    private Blackboard blackboard;
+    private String error;
+}
@@ -0,0 +1,19 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object for the entries of the history of a blackboard after a sequence number.
+ * Truncated is set if entries after the sequence number may be missing because they are no longer retained,
+ * the client should then read the blackboard itself.
+ */
+@Data
+@AllArgsConstructor
+public class BlackboardHistoryDTO {
+    private String name;
+    private List<BlackboardHistoryEntryDTO> entries;
+    private boolean truncated;
+}
@@ -0,0 +1,16 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Data transfer object for one displayed or cleared state in the history of a blackboard.
+ * The sequence number is the version of the blackboard after the change.
+ */
+@Data
+@AllArgsConstructor
+public class BlackboardHistoryEntryDTO {
+    private long sequence;
+    private String data;
+    private long lastUpdated;
+}
@@ -0,0 +1,17 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.dto;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data transfer object for a page of blackboards
+ */
+@Data
+@AllArgsConstructor
+public class BlackboardPageDTO {
+    private List<Blackboard> items;
+    private String nextCursor;
+}
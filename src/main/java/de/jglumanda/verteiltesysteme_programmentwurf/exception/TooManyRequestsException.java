@@ -0,0 +1,20 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.exception;
+
+/**
+ * Exception that is thrown when a request is rejected by the rate limit or because the service is overloaded
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return The number of seconds after which the client may retry the request.
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,10 +1,13 @@
 package de.jglumanda.verteiltesysteme_programmentwurf.model;
 import lombok.Data;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.MongoId;
 
 @Data
 @Document(collection = "blackboards")
+@CompoundIndex(name = "status_name", def = "{'status': 1, '_id': 1}")
 public class Blackboard {
     @MongoId
     private String name;
@@ -12,4 +15,6 @@ public class Blackboard {
     private Long validityInSeconds;
     private Long lastUpdated;
     private Status status;
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Blackboard event read from the change stream of the database in the cluster mode.
+ * Unlike a {@link BlackboardEvent} published by the blackboard service, it covers the changes of all instances.
+ */
+@Data
+@AllArgsConstructor
+public class BlackboardChangeEvent {
+    private BlackboardEvent event;
+}
@@ -0,0 +1,17 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Change of a blackboard that is pushed to the subscribers of the blackboard.
+ * The blackboard is only set for events that leave the blackboard in place, i.e. displayed and cleared.
+ * Purge events have no name, they concern all subscribers, who have to read their blackboards again.
+ */
+@Data
+@AllArgsConstructor
+public class BlackboardEvent {
+    private BlackboardEventType type;
+    private String name;
+    private Blackboard blackboard;
+}
@@ -0,0 +1,9 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.model;
+
+public enum BlackboardEventType {
+    DISPLAYED,
+    CLEARED,
+    DELETED,
+    EXPIRED,
+    PURGED
+}
@@ -0,0 +1,13 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.model;
+
+import lombok.Data;
+
+/**
+ * Optional criteria for selecting blackboards, unset criteria match all blackboards
+ */
+@Data
+public class BlackboardFilter {
+    private Status status;
+    private String prefix;
+    private Long updatedBefore;
+}
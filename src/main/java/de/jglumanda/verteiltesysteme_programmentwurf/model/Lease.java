@@ -0,0 +1,17 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.model;
+
+import lombok.Data;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+/**
+ * Time-limited ownership of a task shared by all instances of the cluster, e.g. the expiry of blackboards
+ */
+@Data
+@Document(collection = "leases")
+public class Lease {
+    @MongoId
+    private String name;
+    private String owner;
+    private Long expiresAt;
+}
@@ -0,0 +1,348 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of blackboard records in a memory-mapped file, used by the {@link EmbeddedBlackboardStore}.
+ * A record holds either the complete state of a blackboard or its deletion:
+ * <pre>length (int) | checksum (int, CRC32C of the body) | body: type (byte), name, [data, validityInSeconds, lastUpdated, status, version]</pre>
+ * Records are written into the mapping and reach the disk with {@link #force()}, which only flushes the bytes
+ * appended since the last call. The unused end of the file is kept zeroed, so replaying stops at the first record
+ * with length 0. A record that is cut off or whose checksum does not match is the torn tail of a crash and is discarded,
+ * but only if no intact record follows it; otherwise the log is corrupt and is not opened, so no durable record is lost.
+ * If a record does not fit, the file is mapped again with twice the size.
+ * Not thread-safe, the store serializes all calls.
+ */
+final class BlackboardLog implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(BlackboardLog.class);
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte NO_STATUS = -1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final CRC32C checksum = new CRC32C();
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int position;
+    private int syncedPosition;
+
+    /**
+     * Receives the records of the log while it is replayed.
+     */
+    interface Visitor {
+        void put(Blackboard blackboard, int recordSize);
+
+        void delete(String name, int recordSize);
+    }
+
+    private BlackboardLog(Path file, FileChannel channel, int capacity) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    /**
+     * Opens the log in the given file, creating the file if it does not exist. The log has to be replayed before appending.
+     * @param file              The file of the log.
+     * @param initialCapacity   The size the file is mapped with at least.
+     * @return                  The opened log.
+     */
+    static BlackboardLog open(Path file, int initialCapacity) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size > MAX_CAPACITY) {
+                channel.close();
+                throw new DataAccessResourceFailureException("Blackboard log " + file + " exceeds " + MAX_CAPACITY + " bytes");
+            }
+            return new BlackboardLog(file, channel, (int) Math.max(size, Math.min(initialCapacity, MAX_CAPACITY)));
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not open the blackboard log " + file, ex);
+        }
+    }
+
+    /**
+     * Creates an empty log in the given file, replacing the file if it exists. The log can be appended to right away.
+     * @param file      The file of the log.
+     * @param capacity  The size the file is mapped with.
+     * @return          The created log.
+     */
+    static BlackboardLog create(Path file, int capacity) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new BlackboardLog(file, channel, Math.min(capacity, MAX_CAPACITY));
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not create the blackboard log " + file, ex);
+        }
+    }
+
+    /**
+     * Reads all intact records in the order they were written and positions the log behind the last of them.
+     * Everything behind it is zeroed and flushed, so a new record cannot be followed by the remains of an older one.
+     * @param visitor The visitor receiving the records.
+     * @throws DataAccessResourceFailureException If a damaged record is followed by intact ones, which a crash cannot cause.
+     */
+    void replay(Visitor visitor) {
+        int offset = 0;
+        while (capacity - offset >= HEADER_SIZE) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (!isIntact(offset)) {
+                int next = findIntactRecord(offset + 1);
+                if (next >= 0) {
+                    throw new DataAccessResourceFailureException("Blackboard log " + file + " is corrupt: the record at offset "
+                            + offset + " is damaged, but an intact record follows at offset " + next);
+                }
+                log.warn("Discarding the torn tail of the blackboard log {} at offset {}", file, offset);
+                break;
+            }
+
+            ByteBuffer body = buffer.slice(offset + HEADER_SIZE, length);
+            byte type = body.get();
+            String name = getString(body);
+            int recordSize = HEADER_SIZE + length;
+            if (type == PUT) {
+                visitor.put(getBlackboard(name, body), recordSize);
+            } else if (type == DELETE) {
+                visitor.delete(name, recordSize);
+            } else {
+                throw new DataAccessResourceFailureException("Unknown record type " + type + " in the blackboard log " + file);
+            }
+            offset += recordSize;
+        }
+
+        position = offset;
+        syncedPosition = offset;
+        if (zero(offset, capacity)) {
+            buffer.force(offset, capacity - offset);
+        }
+    }
+
+    /**
+     * Appends the complete state of a blackboard.
+     * @param blackboard    The blackboard.
+     * @return              The size of the record in bytes.
+     */
+    int appendPut(Blackboard blackboard) {
+        byte[] name = blackboard.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] data = blackboard.getData() == null ? null : blackboard.getData().getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + name.length + 4 + (data == null ? 0 : data.length) + 8 + 8 + 1 + 8;
+        ByteBuffer body = reserve(length);
+        body.put(PUT);
+        putBytes(body, name);
+        putBytes(body, data);
+        body.putLong(valueOf(blackboard.getValidityInSeconds()));
+        body.putLong(valueOf(blackboard.getLastUpdated()));
+        // The status is stored by its ordinal, so new statuses have to be appended to the enum
+        body.put(blackboard.getStatus() == null ? NO_STATUS : (byte) blackboard.getStatus().ordinal());
+        body.putLong(valueOf(blackboard.getVersion()));
+        return commit(length);
+    }
+
+    /**
+     * Appends the deletion of a blackboard.
+     * @param name  The name of the blackboard.
+     * @return      The size of the record in bytes.
+     */
+    int appendDelete(String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + nameBytes.length;
+        ByteBuffer body = reserve(length);
+        body.put(DELETE);
+        putBytes(body, nameBytes);
+        return commit(length);
+    }
+
+    /**
+     * Flushes the records appended since the last call to the disk.
+     */
+    void force() {
+        if (syncedPosition < position) {
+            buffer.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    /**
+     * Discards the records appended after the given position, e.g. those of a write that failed halfway.
+     * Their bytes are zeroed and flushed, so they are not replayed even if some of them already reached the disk.
+     * @param mark The position returned by {@link #size()} before the records were appended.
+     */
+    void truncate(int mark) {
+        if (mark >= position) {
+            return;
+        }
+        int end = position;
+        position = mark;
+        syncedPosition = Math.min(syncedPosition, mark);
+        if (zero(mark, end)) {
+            buffer.force(mark, end - mark);
+        }
+    }
+
+    /**
+     * @return The number of bytes taken by the records.
+     */
+    int size() {
+        return position;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not close the blackboard log " + file, ex);
+        }
+    }
+
+    /**
+     * Checks whether a complete record with a matching checksum starts at the given offset.
+     * @param offset    The offset of the record.
+     * @return          True if the record is intact.
+     */
+    private boolean isIntact(int offset) {
+        int length = buffer.getInt(offset);
+        return length > 0 && length <= capacity - offset - HEADER_SIZE
+                && buffer.getInt(offset + 4) == checksum(offset + HEADER_SIZE, length);
+    }
+
+    /**
+     * Searches the first intact record at or behind the given offset. Only runs after a damaged record was found,
+     * zeroed ranges are skipped eight bytes at a time.
+     * @param from  The offset to start at.
+     * @return      The offset of the intact record or -1 if there is none.
+     */
+    private int findIntactRecord(int from) {
+        int offset = from;
+        while (capacity - offset >= HEADER_SIZE) {
+            if (buffer.getLong(offset) == 0) {
+                // The lengths of the records that would start at the next five offsets are all 0
+                offset += 5;
+            } else if (isIntact(offset)) {
+                return offset;
+            } else {
+                offset++;
+            }
+        }
+        return -1;
+    }
+
+    private ByteBuffer reserve(int length) {
+        if (length > capacity - position - HEADER_SIZE) {
+            grow((long) position + HEADER_SIZE + length);
+        }
+        return buffer.slice(position + HEADER_SIZE, length);
+    }
+
+    private int commit(int length) {
+        buffer.putInt(position + 4, checksum(position + HEADER_SIZE, length));
+        buffer.putInt(position, length);
+        position += HEADER_SIZE + length;
+        return HEADER_SIZE + length;
+    }
+
+    private void grow(long required) {
+        if (required > MAX_CAPACITY) {
+            throw new DataAccessResourceFailureException("Blackboard log " + file + " exceeds " + MAX_CAPACITY + " bytes");
+        }
+        long newCapacity = capacity;
+        while (newCapacity < required) {
+            newCapacity = Math.min(Math.max(newCapacity * 2, 4096), MAX_CAPACITY);
+        }
+        try {
+            // The new mapping covers the same pages, so records that were not flushed yet are not lost
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+            capacity = (int) newCapacity;
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not grow the blackboard log " + file, ex);
+        }
+    }
+
+    private boolean zero(int offset, int end) {
+        boolean dirty = false;
+        int i = offset;
+        for (; i < end && (i & 7) != 0; i++) {
+            dirty |= zeroByte(i);
+        }
+        for (; end - i >= 8; i += 8) {
+            if (buffer.getLong(i) != 0) {
+                buffer.putLong(i, 0);
+                dirty = true;
+            }
+        }
+        for (; i < end; i++) {
+            dirty |= zeroByte(i);
+        }
+        return dirty;
+    }
+
+    private boolean zeroByte(int index) {
+        if (buffer.get(index) == 0) {
+            return false;
+        }
+        buffer.put(index, (byte) 0);
+        return true;
+    }
+
+    private int checksum(int offset, int length) {
+        checksum.reset();
+        checksum.update(buffer.slice(offset, length));
+        return (int) checksum.getValue();
+    }
+
+    private static Blackboard getBlackboard(String name, ByteBuffer body) {
+        Blackboard blackboard = new Blackboard();
+        blackboard.setName(name);
+        blackboard.setData(getString(body));
+        blackboard.setValidityInSeconds(body.getLong());
+        blackboard.setLastUpdated(body.getLong());
+        byte status = body.get();
+        blackboard.setStatus(status == NO_STATUS ? null : Status.values()[status]);
+        blackboard.setVersion(body.getLong());
+        return blackboard;
+    }
+
+    private static void putBytes(ByteBuffer body, byte[] bytes) {
+        if (bytes == null) {
+            body.putInt(-1);
+            return;
+        }
+        body.putInt(bytes.length);
+        body.put(bytes);
+    }
+
+    private static String getString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,108 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * Queries and updates shared by the blocking and the reactive blackboard repository
+ */
+final class BlackboardQueries {
+    private static final Pattern REGEX_SPECIAL_CHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private BlackboardQueries() {
+    }
+
+    static Query byName(String name) {
+        return Query.query(Criteria.where("name").is(name));
+    }
+
+    static Query byNames(Collection<String> names) {
+        return Query.query(Criteria.where("name").in(names));
+    }
+
+    static Query byNameAndVersion(String name, Long version) {
+        return Query.query(Criteria.where("name").is(name).and("version").is(version));
+    }
+
+    static Update displayUpdate(String data, long lastUpdated) {
+        return Update.update("data", data)
+                .set("lastUpdated", lastUpdated)
+                .set("status", Status.VALID)
+                .inc("version", 1);
+    }
+
+    static Update clearUpdate(long lastUpdated) {
+        return Update.update("data", "")
+                .set("lastUpdated", lastUpdated)
+                .set("status", Status.INVALID)
+                .inc("version", 1);
+    }
+
+    /**
+     * Creates a query for the blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param after         The name after which the blackboards start or null to start at the beginning.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The query.
+     */
+    static Query listQuery(BlackboardFilter filter, String after, boolean includeData) {
+        Query query = filterQuery(filter, after).with(Sort.by("name"));
+        if (!includeData) {
+            query.fields().exclude("data");
+        }
+        return query;
+    }
+
+    /**
+     * Creates a query for the blackboards matching the given filter.
+     * The name criteria only use anchored prefixes and ranges, so the query is answered by the index on the name.
+     * @param filter    The filter the blackboards have to match.
+     * @param after     The name after which the blackboards start or null to start at the beginning.
+     * @return          The query.
+     */
+    static Query filterQuery(BlackboardFilter filter, String after) {
+        Query query = new Query();
+        if (filter.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(filter.getStatus()));
+        }
+        if (after != null || filter.getPrefix() != null) {
+            Criteria name = Criteria.where("name");
+            if (after != null) {
+                name.gt(after);
+            }
+            if (filter.getPrefix() != null) {
+                name.regex("^" + REGEX_SPECIAL_CHARACTERS.matcher(filter.getPrefix()).replaceAll("\\\\$0"));
+            }
+            query.addCriteria(name);
+        }
+        if (filter.getUpdatedBefore() != null) {
+            query.addCriteria(Criteria.where("lastUpdated").lt(filter.getUpdatedBefore()));
+        }
+        return query;
+    }
+
+    /**
+     * Creates a query for the given blackboards that are still valid although their validity period has passed.
+     * @param names         The names of the blackboards.
+     * @param currentTime   The current time in milliseconds.
+     * @return              The query.
+     */
+    static Query expiredQuery(Collection<String> names, long currentTime) {
+        Criteria expired = Criteria.expr(ComparisonOperators.Lt.valueOf(
+                        ArithmeticOperators.Add.valueOf("lastUpdated")
+                                .add(ArithmeticOperators.Multiply.valueOf("validityInSeconds").multiplyBy(1000)))
+                .lessThanValue(currentTime));
+        return new Query(Criteria.where("name").in(names)
+                .and("status").is(Status.VALID)
+                .andOperator(expired));
+    }
+}
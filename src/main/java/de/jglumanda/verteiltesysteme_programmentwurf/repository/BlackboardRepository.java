@@ -1,7 +1,11 @@
 package de.jglumanda.verteiltesysteme_programmentwurf.repository;
 
 import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface BlackboardRepository extends MongoRepository<Blackboard, String> {
+import java.util.List;
+
+public interface BlackboardRepository extends MongoRepository<Blackboard, String>, BlackboardRepositoryCustom {
+    List<Blackboard> findAllByStatusAndValidityInSecondsGreaterThan(Status status, long validityInSeconds);
 }
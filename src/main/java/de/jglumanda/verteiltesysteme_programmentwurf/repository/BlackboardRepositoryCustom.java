@@ -0,0 +1,120 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Blackboard operations that are not covered by the derived repository methods
+ */
+public interface BlackboardRepositoryCustom {
+
+    /**
+     * Sets the status of all given blackboards whose validity period has passed to invalid in one bulk update.
+     * Blackboards written after they were found to be expired are left unchanged.
+     * @param names         The names of the blackboards to check.
+     * @param currentTime   The current time in milliseconds.
+     * @return              The names of the blackboards that were actually invalidated.
+     */
+    List<String> invalidateExpired(Collection<String> names, long currentTime);
+
+    /**
+     * Displays the given data on the blackboard and marks it as valid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param data          The data to display.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or null if it does not exist.
+     */
+    Blackboard display(String name, String data, long lastUpdated);
+
+    /**
+     * Clears the data of the blackboard and marks it as invalid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or null if it does not exist.
+     */
+    Blackboard clear(String name, long lastUpdated);
+
+    /**
+     * Deletes the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The number of deleted blackboards, 0 if it did not exist.
+     */
+    long deleteAndCount(String name);
+
+    /**
+     * Inserts the given blackboards in one bulk write. Blackboards whose name is already taken are skipped.
+     * @param blackboards   The blackboards to insert.
+     * @return              The failures by the index of the blackboard: a {@link org.springframework.dao.DuplicateKeyException}
+     *                      if the name is already taken, another {@link org.springframework.dao.DataAccessException}
+     *                      if the blackboard could not be written. All other blackboards were inserted.
+     */
+    Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> blackboards);
+
+    /**
+     * Displays the given data on the blackboards in one bulk write and marks them as valid.
+     * @param dataByName    The data to display by the name of the blackboard.
+     * @param lastUpdated   The time of the update in milliseconds.
+     */
+    void displayAll(Map<String, String> dataByName, long lastUpdated);
+
+    /**
+     * Clears the data of the given blackboards in one update and marks them as invalid.
+     * @param names         The names of the blackboards.
+     * @param lastUpdated   The time of the update in milliseconds.
+     */
+    void clearAll(Collection<String> names, long lastUpdated);
+
+    /**
+     * Deletes the given blackboards.
+     * @param names The names of the blackboards.
+     * @return      The names of the blackboards that existed and were deleted.
+     */
+    List<String> deleteAllExisting(Collection<String> names);
+
+    /**
+     * Finds all blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    List<Blackboard> findAll(BlackboardFilter filter, boolean includeData);
+
+    /**
+     * Finds the next page of blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param after         The name of the last blackboard of the previous page or null for the first page.
+     * @param limit         The maximum number of blackboards.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData);
+
+    /**
+     * Streams all blackboards matching the given filter ordered by name from a database cursor.
+     * The stream has to be closed after use.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData);
+
+    /**
+     * Deletes all blackboards matching the given filter with one operation in the database.
+     * @param filter    The filter the blackboards have to match.
+     * @return          The number of deleted blackboards.
+     */
+    long deleteMatching(BlackboardFilter filter);
+
+    /**
+     * Sets the version of all blackboards that were stored before optimistic locking was introduced.
+     * @return The number of migrated blackboards.
+     */
+    long initializeMissingVersions();
+}
@@ -0,0 +1,185 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.WriteConcernError;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardQueries.*;
+
+@AllArgsConstructor
+public class BlackboardRepositoryCustomImpl implements BlackboardRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<String> invalidateExpired(Collection<String> names, long currentTime) {
+        Query candidatesQuery = expiredQuery(names, currentTime);
+        candidatesQuery.fields().include("name", "version", "lastUpdated");
+        List<Blackboard> candidates = mongoTemplate.find(candidatesQuery, Blackboard.class);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Every blackboard is only updated if it was not written since it was found, so its deadline still holds
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blackboard.class);
+        for (Blackboard candidate : candidates) {
+            operations.updateOne(byNameAndVersion(candidate.getName(), candidate.getVersion()),
+                    Update.update("status", Status.INVALID).inc("version", 1));
+        }
+        int modified = operations.execute().getModifiedCount();
+        if (modified == candidates.size()) {
+            return candidates.stream().map(Blackboard::getName).toList();
+        }
+
+        // Some blackboards were written in the meantime. The expired ones are those that were only invalidated,
+        // an invalidation does not touch the time of the last update unlike a clear
+        Query expiredQuery = byNames(candidates.stream().map(Blackboard::getName).toList())
+                .addCriteria(Criteria.where("status").is(Status.INVALID));
+        expiredQuery.fields().include("name", "version", "lastUpdated");
+        Map<String, Blackboard> written = new HashMap<>();
+        mongoTemplate.find(expiredQuery, Blackboard.class).forEach(blackboard -> written.put(blackboard.getName(), blackboard));
+        return candidates.stream()
+                .filter(candidate -> {
+                    Blackboard blackboard = written.get(candidate.getName());
+                    return blackboard != null
+                            && blackboard.getVersion() == candidate.getVersion() + 1
+                            && blackboard.getLastUpdated().equals(candidate.getLastUpdated());
+                })
+                .map(Blackboard::getName)
+                .toList();
+    }
+
+    @Override
+    public Blackboard display(String name, String data, long lastUpdated) {
+        return mongoTemplate.findAndModify(byName(name), displayUpdate(data, lastUpdated),
+                FindAndModifyOptions.options().returnNew(true), Blackboard.class);
+    }
+
+    @Override
+    public Blackboard clear(String name, long lastUpdated) {
+        return mongoTemplate.findAndModify(byName(name), clearUpdate(lastUpdated),
+                FindAndModifyOptions.options().returnNew(true), Blackboard.class);
+    }
+
+    @Override
+    public long deleteAndCount(String name) {
+        return mongoTemplate.remove(byName(name), Blackboard.class).getDeletedCount();
+    }
+
+    @Override
+    public Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> blackboards) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blackboard.class);
+        operations.insert(blackboards);
+        try {
+            operations.execute();
+            return Map.of();
+        } catch (BulkOperationException ex) {
+            WriteConcernError writeConcernError = ex.getCause() instanceof MongoBulkWriteException bulkWriteException
+                    ? bulkWriteException.getWriteConcernError() : null;
+            return insertFailures(blackboards.size(), ex.getErrors(), writeConcernError);
+        } catch (DataIntegrityViolationException ex) {
+            // Raised instead of the bulk operation exception if the write concern was not satisfied
+            if (!(ex.getCause() instanceof MongoBulkWriteException bulkWriteException)) {
+                throw ex;
+            }
+            return insertFailures(blackboards.size(), bulkWriteException.getWriteErrors(), bulkWriteException.getWriteConcernError());
+        }
+    }
+
+    /**
+     * Maps the errors of an unordered bulk insert to the failures of the individual blackboards.
+     * The bulk continues after an error, so every blackboard without an error was inserted. If the write concern
+     * was not satisfied, these blackboards may still be lost and are reported as failed as well.
+     * @param count             The number of inserted blackboards.
+     * @param errors            The errors of the individual inserts.
+     * @param writeConcernError The write concern error or null if the write concern was satisfied.
+     * @return                  The failures by the index of the blackboard.
+     */
+    private static Map<Integer, DataAccessException> insertFailures(int count, List<BulkWriteError> errors,
+                                                                    WriteConcernError writeConcernError) {
+        Map<Integer, DataAccessException> failures = new HashMap<>();
+        for (BulkWriteError error : errors) {
+            failures.put(error.getIndex(), error.getCategory() == ErrorCategory.DUPLICATE_KEY
+                    ? new DuplicateKeyException(error.getMessage())
+                    : new DataIntegrityViolationException(error.getMessage()));
+        }
+        if (writeConcernError != null) {
+            for (int i = 0; i < count; i++) {
+                failures.putIfAbsent(i, new DataAccessResourceFailureException(
+                        "Insert was not acknowledged: " + writeConcernError.getMessage()));
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public void displayAll(Map<String, String> dataByName, long lastUpdated) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Blackboard.class);
+        dataByName.forEach((name, data) -> operations.updateOne(
+                byName(name), displayUpdate(data, lastUpdated)));
+        operations.execute();
+    }
+
+    @Override
+    public void clearAll(Collection<String> names, long lastUpdated) {
+        mongoTemplate.updateMulti(byNames(names), clearUpdate(lastUpdated), Blackboard.class);
+    }
+
+    @Override
+    public List<String> deleteAllExisting(Collection<String> names) {
+        Query query = byNames(names);
+        List<String> existingNames = mongoTemplate.findDistinct(query, "name", Blackboard.class, String.class);
+        if (!existingNames.isEmpty()) {
+            mongoTemplate.remove(byNames(existingNames), Blackboard.class);
+        }
+        return existingNames;
+    }
+
+    @Override
+    public List<Blackboard> findAll(BlackboardFilter filter, boolean includeData) {
+        return mongoTemplate.find(listQuery(filter, null, includeData), Blackboard.class);
+    }
+
+    @Override
+    public List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData) {
+        return mongoTemplate.find(listQuery(filter, after, includeData).limit(limit), Blackboard.class);
+    }
+
+    @Override
+    public Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData) {
+        return mongoTemplate.stream(listQuery(filter, null, includeData), Blackboard.class);
+    }
+
+    @Override
+    public long deleteMatching(BlackboardFilter filter) {
+        return mongoTemplate.remove(filterQuery(filter, null), Blackboard.class).getDeletedCount();
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        Query query = new Query(Criteria.where("version").exists(false));
+        return mongoTemplate.updateMulti(query, Update.update("version", 0L), Blackboard.class).getModifiedCount();
+    }
+}
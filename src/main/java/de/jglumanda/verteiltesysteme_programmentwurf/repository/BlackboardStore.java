@@ -0,0 +1,164 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage of the blackboards used by the {@link de.jglumanda.verteiltesysteme_programmentwurf.service.BlackboardService}.
+ * The implementation is selected with {@code blackboard.store.type}: {@code mongo} stores the blackboards in MongoDB,
+ * {@code embedded} in a log file on the local disk. Every write of a single blackboard is atomic and increments
+ * its version; the returned blackboards are copies, so changing them does not change the store.
+ * Failures are reported as {@link org.springframework.dao.DataAccessException}.
+ */
+public interface BlackboardStore {
+
+    /**
+     * Inserts a new blackboard with version 0.
+     * @param blackboard    The blackboard to insert.
+     * @return              The inserted blackboard.
+     * @throws org.springframework.dao.DuplicateKeyException If a blackboard with the same name exists.
+     */
+    Blackboard insert(Blackboard blackboard);
+
+    /**
+     * Inserts the given blackboards with version 0. Blackboards whose name is already taken are skipped.
+     * @param blackboards   The blackboards to insert.
+     * @return              The failures by the index of the blackboard: a {@link org.springframework.dao.DuplicateKeyException}
+     *                      if the name is already taken, another {@link org.springframework.dao.DataAccessException}
+     *                      if the blackboard could not be written. All other blackboards were inserted.
+     */
+    Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> blackboards);
+
+    /**
+     * Finds the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The blackboard if it exists.
+     */
+    Optional<Blackboard> findById(String name);
+
+    /**
+     * Finds the blackboards with the specified names.
+     * @param names The names of the blackboards.
+     * @return      The existing blackboards in any order.
+     */
+    List<Blackboard> findAllById(Collection<String> names);
+
+    /**
+     * Displays the given data on the blackboard and marks it as valid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param data          The data to display.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or null if it does not exist.
+     */
+    Blackboard display(String name, String data, long lastUpdated);
+
+    /**
+     * Displays the given data on the existing blackboards and marks them as valid.
+     * @param dataByName    The data to display by the name of the blackboard.
+     * @param lastUpdated   The time of the update in milliseconds.
+     */
+    void displayAll(Map<String, String> dataByName, long lastUpdated);
+
+    /**
+     * Clears the data of the blackboard and marks it as invalid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or null if it does not exist.
+     */
+    Blackboard clear(String name, long lastUpdated);
+
+    /**
+     * Clears the data of the existing blackboards and marks them as invalid.
+     * @param names         The names of the blackboards.
+     * @param lastUpdated   The time of the update in milliseconds.
+     */
+    void clearAll(Collection<String> names, long lastUpdated);
+
+    /**
+     * Deletes the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The number of deleted blackboards, 0 if it did not exist.
+     */
+    long deleteAndCount(String name);
+
+    /**
+     * Deletes the given blackboards.
+     * @param names The names of the blackboards.
+     * @return      The names of the blackboards that existed and were deleted.
+     */
+    List<String> deleteAllExisting(Collection<String> names);
+
+    /**
+     * Deletes all blackboards matching the given filter.
+     * @param filter    The filter the blackboards have to match.
+     * @return          The number of deleted blackboards.
+     */
+    long deleteMatching(BlackboardFilter filter);
+
+    /**
+     * Deletes all blackboards.
+     */
+    void deleteAll();
+
+    /**
+     * @return The number of blackboards.
+     */
+    long count();
+
+    /**
+     * Finds all blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    List<Blackboard> findAll(BlackboardFilter filter, boolean includeData);
+
+    /**
+     * Finds the next page of blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param after         The name of the last blackboard of the previous page or null for the first page.
+     * @param limit         The maximum number of blackboards.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData);
+
+    /**
+     * Streams all blackboards matching the given filter ordered by name. The stream has to be closed after use.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData);
+
+    /**
+     * Finds all blackboards with the given status and a validity period longer than the given one.
+     * @param status            The status of the blackboards.
+     * @param validityInSeconds The validity period the blackboards have to exceed.
+     * @return                  The matching blackboards.
+     */
+    List<Blackboard> findAllByStatusAndValidityInSecondsGreaterThan(Status status, long validityInSeconds);
+
+    /**
+     * Sets the status of all given blackboards whose validity period has passed to invalid.
+     * @param names         The names of the blackboards to check.
+     * @param currentTime   The current time in milliseconds.
+     * @return              The names of the invalidated blackboards.
+     */
+    List<String> invalidateExpired(Collection<String> names, long currentTime);
+
+    /**
+     * Sets the version of all blackboards that were stored without one.
+     * @return The number of migrated blackboards.
+     */
+    long initializeMissingVersions();
+}
@@ -0,0 +1,488 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Stores the blackboards on the local disk, so the application runs without a database.
+ * All blackboards are kept in an index in memory ordered by name, which answers every read without touching the disk.
+ * Every write appends the new state of the changed blackboards to a {@link BlackboardLog} and is flushed before the
+ * index is updated, so a write is durable once it returns; with {@code sync-on-write=false} the log is flushed
+ * periodically instead. Writes are serialized by one lock, reads take no lock.
+ * On startup the log is replayed into the index. Once most of the log consists of outdated records, it is compacted
+ * by writing the current blackboards to a new file that replaces the log atomically.
+ */
+@Repository
+@ConditionalOnProperty(name = "blackboard.store.type", havingValue = "embedded")
+public class EmbeddedBlackboardStore implements BlackboardStore {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedBlackboardStore.class);
+    private static final String LOG_FILE = "blackboards.log";
+    private static final String COMPACTED_FILE = "blackboards.log.compacted";
+
+    private final Path directory;
+    private final int initialSize;
+    private final boolean syncOnWrite;
+    private final long compactionMinSize;
+    private final ConcurrentSkipListMap<String, Entry> index = new ConcurrentSkipListMap<>();
+    private final Map<String, Entry> pending = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private BlackboardLog blackboardLog;
+    private long liveBytes;
+
+    /**
+     * Current state of a blackboard and the size of its record in the log. Staged deletions have no blackboard.
+     */
+    private record Entry(Blackboard blackboard, int recordSize) {
+    }
+
+    public EmbeddedBlackboardStore(@Value("${blackboard.store.embedded.directory:data}") String directory,
+                                   @Value("${blackboard.store.embedded.initial-size:16777216}") int initialSize,
+                                   @Value("${blackboard.store.embedded.sync-on-write:true}") boolean syncOnWrite,
+                                   @Value("${blackboard.store.embedded.compaction-min-size:16777216}") long compactionMinSize) {
+        this.directory = Path.of(directory);
+        this.initialSize = initialSize;
+        this.syncOnWrite = syncOnWrite;
+        this.compactionMinSize = compactionMinSize;
+    }
+
+    /**
+     * Opens the log and replays it into the index. A compacted file left by a crash during the compaction is
+     * incomplete and deleted, the log itself is only replaced once the compacted file was flushed.
+     * A corrupt log fails the startup and is left unchanged.
+     */
+    @PostConstruct
+    public void open() {
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(directory.resolve(COMPACTED_FILE));
+        } catch (IOException ex) {
+            throw new DataAccessResourceFailureException("Could not prepare the directory " + directory, ex);
+        }
+
+        long startNanos = System.nanoTime();
+        blackboardLog = BlackboardLog.open(directory.resolve(LOG_FILE), initialSize);
+        try {
+            blackboardLog.replay(new BlackboardLog.Visitor() {
+                @Override
+                public void put(Blackboard blackboard, int recordSize) {
+                    apply(blackboard.getName(), new Entry(blackboard, recordSize));
+                }
+
+                @Override
+                public void delete(String name, int recordSize) {
+                    apply(name, new Entry(null, recordSize));
+                }
+            });
+        } catch (RuntimeException ex) {
+            blackboardLog.close();
+            throw ex;
+        }
+        log.info("Loaded {} blackboards from {} bytes of log in {} ms", index.size(), blackboardLog.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Flushes and closes the log.
+     */
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            blackboardLog.force();
+            blackboardLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the log if it is not flushed on every write.
+     */
+    @Scheduled(fixedDelayString = "${blackboard.store.embedded.sync-interval:1000}")
+    public void sync() {
+        if (syncOnWrite) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            blackboardLog.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the log once the outdated records exceed {@code compaction-min-size} and take more space than the
+     * current blackboards. Writes wait during the compaction, reads are served from the index.
+     */
+    @Scheduled(fixedDelayString = "${blackboard.store.embedded.compaction-interval:10000}")
+    public void compactIfNeeded() {
+        writeLock.lock();
+        try {
+            long deadBytes = blackboardLog.size() - liveBytes;
+            if (deadBytes >= compactionMinSize && deadBytes > liveBytes) {
+                compact();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the current blackboards to a new log that replaces the old one. Has to be called while holding the write lock.
+     */
+    private void compact() {
+        long startNanos = System.nanoTime();
+        int oldSize = blackboardLog.size();
+        Path compactedFile = directory.resolve(COMPACTED_FILE);
+        BlackboardLog compacted = BlackboardLog.create(compactedFile, (int) Math.min(Math.max(initialSize, liveBytes * 2), 1 << 30));
+        try {
+            for (Entry entry : index.values()) {
+                compacted.appendPut(entry.blackboard());
+            }
+            compacted.force();
+            Files.move(compactedFile, directory.resolve(LOG_FILE), StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+        } catch (IOException ex) {
+            compacted.close();
+            throw new DataAccessResourceFailureException("Could not compact the blackboard log", ex);
+        } catch (RuntimeException ex) {
+            compacted.close();
+            throw ex;
+        }
+
+        blackboardLog.close();
+        blackboardLog = compacted;
+        log.info("Compacted the blackboard log from {} to {} bytes in {} ms", oldSize, compacted.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Flushes the directory, so the replaced log survives a crash. Not every platform supports this, e.g. Windows.
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Could not flush the directory {}", directory, ex);
+        }
+    }
+
+    @Override
+    public Blackboard insert(Blackboard blackboard) {
+        return write(() -> {
+            if (current(blackboard.getName()) != null) {
+                throw new DuplicateKeyException("Blackboard with name '" + blackboard.getName() + "' already exists");
+            }
+            Blackboard inserted = copy(blackboard, true);
+            inserted.setVersion(0L);
+            stage(inserted);
+            return copy(inserted, true);
+        });
+    }
+
+    @Override
+    public Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> blackboards) {
+        return write(() -> {
+            Map<Integer, DataAccessException> failures = new HashMap<>();
+            for (int i = 0; i < blackboards.size(); i++) {
+                String name = blackboards.get(i).getName();
+                if (current(name) != null) {
+                    failures.put(i, new DuplicateKeyException("Blackboard with name '" + name + "' already exists"));
+                    continue;
+                }
+                Blackboard inserted = copy(blackboards.get(i), true);
+                inserted.setVersion(0L);
+                stage(inserted);
+            }
+            return failures;
+        });
+    }
+
+    @Override
+    public Optional<Blackboard> findById(String name) {
+        Entry entry = index.get(name);
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.blackboard(), true));
+    }
+
+    @Override
+    public List<Blackboard> findAllById(Collection<String> names) {
+        return names.stream()
+                .distinct()
+                .map(index::get)
+                .filter(Objects::nonNull)
+                .map(entry -> copy(entry.blackboard(), true))
+                .toList();
+    }
+
+    @Override
+    public Blackboard display(String name, String data, long lastUpdated) {
+        return write(() -> {
+            Blackboard displayed = update(name, data, lastUpdated, Status.VALID);
+            return displayed == null ? null : copy(displayed, true);
+        });
+    }
+
+    @Override
+    public void displayAll(Map<String, String> dataByName, long lastUpdated) {
+        write(() -> {
+            dataByName.forEach((name, data) -> update(name, data, lastUpdated, Status.VALID));
+            return null;
+        });
+    }
+
+    @Override
+    public Blackboard clear(String name, long lastUpdated) {
+        return write(() -> {
+            Blackboard cleared = update(name, "", lastUpdated, Status.INVALID);
+            return cleared == null ? null : copy(cleared, true);
+        });
+    }
+
+    @Override
+    public void clearAll(Collection<String> names, long lastUpdated) {
+        write(() -> {
+            names.forEach(name -> update(name, "", lastUpdated, Status.INVALID));
+            return null;
+        });
+    }
+
+    @Override
+    public long deleteAndCount(String name) {
+        return write(() -> delete(name) ? 1L : 0L);
+    }
+
+    @Override
+    public List<String> deleteAllExisting(Collection<String> names) {
+        return write(() -> names.stream().distinct().filter(this::delete).toList());
+    }
+
+    @Override
+    public long deleteMatching(BlackboardFilter filter) {
+        return write(() -> {
+            List<String> names = matching(filter, null).map(Blackboard::getName).toList();
+            names.forEach(this::delete);
+            return (long) names.size();
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        write(() -> {
+            List.copyOf(index.keySet()).forEach(this::delete);
+            return null;
+        });
+    }
+
+    @Override
+    public long count() {
+        return index.size();
+    }
+
+    @Override
+    public List<Blackboard> findAll(BlackboardFilter filter, boolean includeData) {
+        return matching(filter, null).map(blackboard -> copy(blackboard, includeData)).toList();
+    }
+
+    @Override
+    public List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData) {
+        return matching(filter, after).limit(limit).map(blackboard -> copy(blackboard, includeData)).toList();
+    }
+
+    @Override
+    public Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData) {
+        return matching(filter, null).map(blackboard -> copy(blackboard, includeData));
+    }
+
+    @Override
+    public List<Blackboard> findAllByStatusAndValidityInSecondsGreaterThan(Status status, long validityInSeconds) {
+        return index.values().stream()
+                .map(Entry::blackboard)
+                .filter(blackboard -> blackboard.getStatus() == status && blackboard.getValidityInSeconds() > validityInSeconds)
+                .map(blackboard -> copy(blackboard, true))
+                .toList();
+    }
+
+    @Override
+    public List<String> invalidateExpired(Collection<String> names, long currentTime) {
+        return write(() -> {
+            List<String> expiredNames = new ArrayList<>();
+            for (String name : names) {
+                Blackboard blackboard = current(name);
+                if (blackboard != null && blackboard.getStatus() == Status.VALID
+                        && blackboard.getLastUpdated() + blackboard.getValidityInSeconds() * 1000 < currentTime) {
+                    Blackboard invalidated = copy(blackboard, true);
+                    invalidated.setStatus(Status.INVALID);
+                    invalidated.setVersion(blackboard.getVersion() + 1);
+                    stage(invalidated);
+                    expiredNames.add(name);
+                }
+            }
+            return expiredNames;
+        });
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        // Every record in the log has a version
+        return 0;
+    }
+
+    /**
+     * Executes a write holding the write lock. The changes staged by the write are applied to the index after the
+     * log was flushed, so readers never see a change that could still be lost. If the write fails, e.g. because the
+     * log cannot grow any further or could not be flushed, the staged changes are discarded and the log is truncated
+     * to where the write started, so records of a failed write are not replayed after a restart.
+     * @param operation The write.
+     * @return          The result of the write.
+     * @param <T>       The return type of the write.
+     */
+    private <T> T write(Supplier<T> operation) {
+        writeLock.lock();
+        try {
+            int mark = blackboardLog.size();
+            T result;
+            try {
+                result = operation.get();
+                if (syncOnWrite) {
+                    blackboardLog.force();
+                }
+            } catch (RuntimeException ex) {
+                pending.clear();
+                try {
+                    blackboardLog.truncate(mark);
+                } catch (RuntimeException truncateException) {
+                    ex.addSuppressed(truncateException);
+                }
+                throw ex;
+            }
+            pending.forEach(this::apply);
+            pending.clear();
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the state of the blackboard including the changes staged by the current write.
+     * @param name  The name of the blackboard.
+     * @return      The blackboard or null if it does not exist.
+     */
+    private Blackboard current(String name) {
+        Entry entry = pending.containsKey(name) ? pending.get(name) : index.get(name);
+        return entry == null ? null : entry.blackboard();
+    }
+
+    private Blackboard update(String name, String data, long lastUpdated, Status status) {
+        Blackboard blackboard = current(name);
+        if (blackboard == null) {
+            return null;
+        }
+        Blackboard updated = copy(blackboard, true);
+        updated.setData(data);
+        updated.setLastUpdated(lastUpdated);
+        updated.setStatus(status);
+        updated.setVersion(blackboard.getVersion() + 1);
+        stage(updated);
+        return updated;
+    }
+
+    private boolean delete(String name) {
+        if (current(name) == null) {
+            return false;
+        }
+        pending.put(name, new Entry(null, blackboardLog.appendDelete(name)));
+        return true;
+    }
+
+    private void stage(Blackboard blackboard) {
+        pending.put(blackboard.getName(), new Entry(blackboard, blackboardLog.appendPut(blackboard)));
+    }
+
+    /**
+     * Applies a change to the index and keeps track of the bytes of the log taken by current blackboards.
+     * @param name  The name of the changed blackboard.
+     * @param entry The new state of the blackboard, without blackboard if it was deleted.
+     */
+    private void apply(String name, Entry entry) {
+        Entry previous = entry.blackboard() == null ? index.remove(name) : index.put(name, entry);
+        if (entry.blackboard() != null) {
+            liveBytes += entry.recordSize();
+        }
+        if (previous != null) {
+            liveBytes -= previous.recordSize();
+        }
+    }
+
+    /**
+     * Streams the blackboards of the index matching the given filter ordered by name.
+     * Names with the prefix form a range of the index, so only this range is visited.
+     * @param filter    The filter the blackboards have to match.
+     * @param after     The name after which the blackboards start or null to start at the beginning.
+     * @return          The matching blackboards as stored in the index.
+     */
+    private Stream<Blackboard> matching(BlackboardFilter filter, String after) {
+        String prefix = filter.getPrefix();
+        NavigableMap<String, Entry> range = index;
+        if (prefix != null && (after == null || prefix.compareTo(after) > 0)) {
+            range = index.tailMap(prefix, true);
+        } else if (after != null) {
+            range = index.tailMap(after, false);
+        }
+
+        Stream<Blackboard> blackboards = range.values().stream().map(Entry::blackboard);
+        if (prefix != null) {
+            blackboards = blackboards.takeWhile(blackboard -> blackboard.getName().startsWith(prefix));
+        }
+        if (filter.getStatus() != null) {
+            blackboards = blackboards.filter(blackboard -> blackboard.getStatus() == filter.getStatus());
+        }
+        if (filter.getUpdatedBefore() != null) {
+            blackboards = blackboards.filter(blackboard -> blackboard.getLastUpdated() < filter.getUpdatedBefore());
+        }
+        return blackboards;
+    }
+
+    private static Blackboard copy(Blackboard blackboard, boolean includeData) {
+        Blackboard copy = new Blackboard();
+        copy.setName(blackboard.getName());
+        copy.setData(includeData ? blackboard.getData() : null);
+        copy.setValidityInSeconds(blackboard.getValidityInSeconds());
+        copy.setLastUpdated(blackboard.getLastUpdated());
+        copy.setStatus(blackboard.getStatus());
+        copy.setVersion(blackboard.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,7 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Lease;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface LeaseRepository extends MongoRepository<Lease, String>, LeaseRepositoryCustom {
+}
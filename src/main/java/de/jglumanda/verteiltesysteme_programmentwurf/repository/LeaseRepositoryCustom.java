@@ -0,0 +1,25 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+/**
+ * Atomic operations on leases
+ */
+public interface LeaseRepositoryCustom {
+
+    /**
+     * Acquires or renews the lease with the given name in one atomic operation.
+     * The lease is granted if it does not exist, has expired or is already held by the given owner.
+     * @param name          The name of the lease.
+     * @param owner         The instance requesting the lease.
+     * @param currentTime   The current time in milliseconds.
+     * @param duration      The time in milliseconds the lease is granted for.
+     * @return              Whether the owner holds the lease now.
+     */
+    boolean tryAcquire(String name, String owner, long currentTime, long duration);
+
+    /**
+     * Releases the lease with the given name if it is held by the given owner.
+     * @param name  The name of the lease.
+     * @param owner The instance holding the lease.
+     */
+    void release(String name, String owner);
+}
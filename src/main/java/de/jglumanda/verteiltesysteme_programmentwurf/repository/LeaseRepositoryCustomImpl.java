@@ -0,0 +1,34 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Lease;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@AllArgsConstructor
+public class LeaseRepositoryCustomImpl implements LeaseRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean tryAcquire(String name, String owner, long currentTime, long duration) {
+        Query query = Query.query(Criteria.where("name").is(name)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(currentTime)));
+        Update update = Update.update("owner", owner).set("expiresAt", currentTime + duration);
+        try {
+            return mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), Lease.class) != null;
+        } catch (DuplicateKeyException ex) {
+            // The lease exists and is held by another owner, so the upsert tried to insert it a second time
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String name, String owner) {
+        mongoTemplate.remove(Query.query(Criteria.where("name").is(name).and("owner").is(owner)), Lease.class);
+    }
+}
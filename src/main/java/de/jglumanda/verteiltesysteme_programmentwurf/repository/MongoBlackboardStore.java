@@ -0,0 +1,120 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Stores the blackboards in MongoDB through the {@link BlackboardRepository}, the default store
+ */
+@Repository
+@ConditionalOnProperty(name = "blackboard.store.type", havingValue = "mongo", matchIfMissing = true)
+@AllArgsConstructor
+public class MongoBlackboardStore implements BlackboardStore {
+    private final BlackboardRepository blackboardRepository;
+
+    @Override
+    public Blackboard insert(Blackboard blackboard) {
+        return blackboardRepository.insert(blackboard);
+    }
+
+    @Override
+    public Map<Integer, DataAccessException> insertAllSkippingExisting(List<Blackboard> blackboards) {
+        return blackboardRepository.insertAllSkippingExisting(blackboards);
+    }
+
+    @Override
+    public Optional<Blackboard> findById(String name) {
+        return blackboardRepository.findById(name);
+    }
+
+    @Override
+    public List<Blackboard> findAllById(Collection<String> names) {
+        return blackboardRepository.findAllById(names);
+    }
+
+    @Override
+    public Blackboard display(String name, String data, long lastUpdated) {
+        return blackboardRepository.display(name, data, lastUpdated);
+    }
+
+    @Override
+    public void displayAll(Map<String, String> dataByName, long lastUpdated) {
+        blackboardRepository.displayAll(dataByName, lastUpdated);
+    }
+
+    @Override
+    public Blackboard clear(String name, long lastUpdated) {
+        return blackboardRepository.clear(name, lastUpdated);
+    }
+
+    @Override
+    public void clearAll(Collection<String> names, long lastUpdated) {
+        blackboardRepository.clearAll(names, lastUpdated);
+    }
+
+    @Override
+    public long deleteAndCount(String name) {
+        return blackboardRepository.deleteAndCount(name);
+    }
+
+    @Override
+    public List<String> deleteAllExisting(Collection<String> names) {
+        return blackboardRepository.deleteAllExisting(names);
+    }
+
+    @Override
+    public long deleteMatching(BlackboardFilter filter) {
+        return blackboardRepository.deleteMatching(filter);
+    }
+
+    @Override
+    public void deleteAll() {
+        blackboardRepository.deleteAll();
+    }
+
+    @Override
+    public long count() {
+        return blackboardRepository.count();
+    }
+
+    @Override
+    public List<Blackboard> findAll(BlackboardFilter filter, boolean includeData) {
+        return blackboardRepository.findAll(filter, includeData);
+    }
+
+    @Override
+    public List<Blackboard> findPage(BlackboardFilter filter, String after, int limit, boolean includeData) {
+        return blackboardRepository.findPage(filter, after, limit, includeData);
+    }
+
+    @Override
+    public Stream<Blackboard> streamAll(BlackboardFilter filter, boolean includeData) {
+        return blackboardRepository.streamAll(filter, includeData);
+    }
+
+    @Override
+    public List<Blackboard> findAllByStatusAndValidityInSecondsGreaterThan(Status status, long validityInSeconds) {
+        return blackboardRepository.findAllByStatusAndValidityInSecondsGreaterThan(status, validityInSeconds);
+    }
+
+    @Override
+    public List<String> invalidateExpired(Collection<String> names, long currentTime) {
+        return blackboardRepository.invalidateExpired(names, currentTime);
+    }
+
+    @Override
+    public long initializeMissingVersions() {
+        return blackboardRepository.initializeMissingVersions();
+    }
+}
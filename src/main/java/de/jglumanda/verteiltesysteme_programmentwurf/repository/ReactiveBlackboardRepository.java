@@ -0,0 +1,7 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveBlackboardRepository extends ReactiveMongoRepository<Blackboard, String>, ReactiveBlackboardRepositoryCustom {
+}
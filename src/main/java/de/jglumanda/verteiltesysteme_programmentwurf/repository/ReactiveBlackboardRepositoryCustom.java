@@ -0,0 +1,51 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the blackboard operations that are not covered by the derived repository methods
+ */
+public interface ReactiveBlackboardRepositoryCustom {
+
+    /**
+     * Displays the given data on the blackboard and marks it as valid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param data          The data to display.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or an empty mono if it does not exist.
+     */
+    Mono<Blackboard> display(String name, String data, long lastUpdated);
+
+    /**
+     * Clears the data of the blackboard and marks it as invalid in one atomic update.
+     * @param name          The name of the blackboard.
+     * @param lastUpdated   The time of the update in milliseconds.
+     * @return              The updated blackboard or an empty mono if it does not exist.
+     */
+    Mono<Blackboard> clear(String name, long lastUpdated);
+
+    /**
+     * Deletes the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The number of deleted blackboards, 0 if it did not exist.
+     */
+    Mono<Long> deleteAndCount(String name);
+
+    /**
+     * Finds all blackboards matching the given filter ordered by name.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is loaded.
+     * @return              The matching blackboards.
+     */
+    Flux<Blackboard> findAll(BlackboardFilter filter, boolean includeData);
+
+    /**
+     * Deletes all blackboards matching the given filter with one operation in the database.
+     * @param filter    The filter the blackboards have to match.
+     * @return          The number of deleted blackboards.
+     */
+    Mono<Long> deleteMatching(BlackboardFilter filter);
+}
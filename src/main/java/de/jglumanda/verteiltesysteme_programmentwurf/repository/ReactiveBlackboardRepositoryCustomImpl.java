@@ -0,0 +1,44 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import com.mongodb.client.result.DeleteResult;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardQueries.*;
+
+@AllArgsConstructor
+public class ReactiveBlackboardRepositoryCustomImpl implements ReactiveBlackboardRepositoryCustom {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Blackboard> display(String name, String data, long lastUpdated) {
+        return reactiveMongoTemplate.findAndModify(byName(name), displayUpdate(data, lastUpdated),
+                FindAndModifyOptions.options().returnNew(true), Blackboard.class);
+    }
+
+    @Override
+    public Mono<Blackboard> clear(String name, long lastUpdated) {
+        return reactiveMongoTemplate.findAndModify(byName(name), clearUpdate(lastUpdated),
+                FindAndModifyOptions.options().returnNew(true), Blackboard.class);
+    }
+
+    @Override
+    public Mono<Long> deleteAndCount(String name) {
+        return reactiveMongoTemplate.remove(byName(name), Blackboard.class).map(DeleteResult::getDeletedCount);
+    }
+
+    @Override
+    public Flux<Blackboard> findAll(BlackboardFilter filter, boolean includeData) {
+        return reactiveMongoTemplate.find(listQuery(filter, null, includeData), Blackboard.class);
+    }
+
+    @Override
+    public Mono<Long> deleteMatching(BlackboardFilter filter) {
+        return reactiveMongoTemplate.remove(filterQuery(filter, null), Blackboard.class).map(DeleteResult::getDeletedCount);
+    }
+}
@@ -0,0 +1,142 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded in-memory cache of blackboards in front of the repository.
+ * The cache is written through by every mutation of the blackboard service, so it never returns stale data.
+ * An entry is never replaced by an older version of the blackboard, so writes and loads may store their results in any order.
+ * Results that may be outdated by an invalidation in the meantime are fenced with a stamp: the generation of the whole
+ * cache plus a counter per name. The counters are striped over a fixed array, so names are never tracked one by one
+ * and an invalidation only discards the puts of the names sharing its stripe.
+ */
+@Component
+public class BlackboardCache {
+    private static final int STAMP_STRIPES = 1 << 12;
+
+    private final Cache<String, Blackboard> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public BlackboardCache(@Value("${blackboard.cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached blackboard with the specified name without loading it.
+     * @param name  The name of the blackboard.
+     * @return      The blackboard or null if it is not cached.
+     */
+    public Blackboard getIfPresent(String name) {
+        return cache.getIfPresent(name);
+    }
+
+    /**
+     * Stores the given blackboard in the cache unless a newer version is cached.
+     * @param blackboard The blackboard to store.
+     */
+    public void put(Blackboard blackboard) {
+        cache.asMap().merge(blackboard.getName(), blackboard, BlackboardCache::newer);
+    }
+
+    /**
+     * Stores a blackboard read or written before, unless the blackboard or the whole cache was invalidated since then.
+     * In that case the blackboard may already be changed or gone in the repository.
+     * @param blackboard    The blackboard to store.
+     * @param expectedStamp The stamp of the blackboard taken before it was read or written, see {@link #stamp(String)}.
+     */
+    public void putIfUnchanged(Blackboard blackboard, long expectedStamp) {
+        put(blackboard);
+        if (stamp(blackboard.getName()) != expectedStamp) {
+            cache.asMap().remove(blackboard.getName(), blackboard);
+        }
+    }
+
+    /**
+     * Returns the stamp of the blackboard with the specified name, which changes whenever the blackboard is changed
+     * by another instance while it is not cached, is deleted by another instance, or the whole cache is invalidated.
+     * Both parts of the stamp only grow, so their sum changes whenever one of them does.
+     * @param name  The name of the blackboard.
+     * @return      The current stamp.
+     */
+    public long stamp(String name) {
+        return generation.get() + stamps.get(stampStripe(name));
+    }
+
+    /**
+     * Removes the blackboard with the specified name from the cache.
+     * @param name The name of the blackboard.
+     */
+    public void invalidate(String name) {
+        cache.invalidate(name);
+    }
+
+    /**
+     * Removes the blackboards with the specified names from the cache.
+     * @param names The names of the blackboards.
+     */
+    public void invalidateAll(Iterable<String> names) {
+        cache.invalidateAll(names);
+    }
+
+    /**
+     * Removes all blackboards from the cache.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Applies a change of a blackboard made by any instance of the cluster.
+     * A cached older version is replaced. If the blackboard is not cached, loads of this blackboard in progress are
+     * discarded, since they may have read the blackboard before the change.
+     * @param blackboard The changed blackboard.
+     */
+    public void applyChange(Blackboard blackboard) {
+        Blackboard cached = cache.asMap().computeIfPresent(blackboard.getName(), (name, current) -> newer(current, blackboard));
+        if (cached == null) {
+            stamps.incrementAndGet(stampStripe(blackboard.getName()));
+        }
+    }
+
+    /**
+     * Applies the deletion of a blackboard by any instance of the cluster and discards the loads of this blackboard in progress.
+     * @param name The name of the deleted blackboard.
+     */
+    public void applyDeletion(String name) {
+        stamps.incrementAndGet(stampStripe(name));
+        cache.invalidate(name);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the cache.
+     * @return The cache statistics.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stampStripe(String name) {
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    private static Blackboard newer(Blackboard current, Blackboard candidate) {
+        if (current.getVersion() == null || candidate.getVersion() == null) {
+            return candidate;
+        }
+        return candidate.getVersion() >= current.getVersion() ? candidate : current;
+    }
+}
@@ -0,0 +1,209 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardChangeEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEventType;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the cache and the expiry index of this instance in sync with the changes of all instances of the cluster.
+ * The changes are read from the change stream of the blackboard collection, which requires MongoDB to run as a replica set,
+ * and are published as {@link BlackboardChangeEvent}s for the subscribers connected to this instance.
+ */
+@Component
+@Profile("cluster")
+public class BlackboardChangeStreamListener {
+    private static final Logger log = LoggerFactory.getLogger(BlackboardChangeStreamListener.class);
+    private static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    /**
+     * Error codes after which the stream cannot be resumed: InvalidResumeToken, ChangeStreamFatalError and
+     * ChangeStreamHistoryLost, i.e. the resume token is no longer in the oplog.
+     */
+    private static final Set<Integer> NON_RESUMABLE_CODES = Set.of(260, 280, 286);
+
+    private final MongoTemplate mongoTemplate;
+    private final BlackboardCache blackboardCache;
+    private final BlackboardExpiryIndex expiryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private Thread watcher;
+    private BsonDocument resumeToken;
+    private boolean changesLost;
+    private volatile boolean running = true;
+
+    public BlackboardChangeStreamListener(MongoTemplate mongoTemplate, BlackboardCache blackboardCache,
+                                          BlackboardExpiryIndex expiryIndex, ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.blackboardCache = blackboardCache;
+        this.expiryIndex = expiryIndex;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Starts reading the change stream once the listener is fully initialized.
+     */
+    @PostConstruct
+    public void start() {
+        watcher = Thread.ofPlatform().name("blackboard-change-stream").daemon(true).start(this::watch);
+    }
+
+    /**
+     * Reads the change stream until the listener is shut down and reopens it after errors.
+     * A reopened stream resumes after the last applied change, so no change is missed. If the stream cannot be resumed,
+     * e.g. because the change was already removed from the oplog, it is opened from the current time instead and
+     * the cache and the expiry index are rebuilt, as the changes in between are lost.
+     */
+    private void watch() {
+        while (running) {
+            ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Blackboard.class))
+                    .watch()
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .maxAwaitTime(1, TimeUnit.SECONDS);
+            if (resumeToken != null) {
+                changeStream.resumeAfter(resumeToken);
+            }
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+                if (resumeToken == null) {
+                    // Changes made before the stream was opened are unknown, so nothing cached so far can be trusted
+                    blackboardCache.invalidateAll();
+                    if (changesLost) {
+                        reloadExpiryIndex();
+                        changesLost = false;
+                    }
+                }
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        apply(change);
+                        resumeToken = change.getResumeToken();
+                    }
+                }
+            } catch (MongoException ex) {
+                if (running) {
+                    if (resumeToken != null && !isResumable(ex)) {
+                        log.warn("Change stream of the blackboards cannot be resumed, reopening it and discarding the cache", ex);
+                        resumeToken = null;
+                        changesLost = true;
+                    } else {
+                        log.warn("Change stream of the blackboards failed, reopening it", ex);
+                    }
+                    LockSupport.parkNanos(RETRY_NANOS);
+                }
+            } catch (DataAccessException ex) {
+                if (running) {
+                    log.warn("Expiry index could not be reloaded, reopening the change stream", ex);
+                    LockSupport.parkNanos(RETRY_NANOS);
+                }
+            }
+        }
+    }
+
+    private static boolean isResumable(MongoException ex) {
+        return !ex.hasErrorLabel("NonResumableChangeStreamError") && !NON_RESUMABLE_CODES.contains(ex.getCode());
+    }
+
+    /**
+     * Schedules the deadlines of all valid blackboards again, including those created by other instances while
+     * the change stream was interrupted. Deadlines of blackboards deleted meanwhile are skipped when due.
+     * The stream is already open, so a change that overlaps with the reload is applied again afterwards.
+     */
+    private void reloadExpiryIndex() {
+        Query query = Query.query(Criteria.where("status").is(Status.VALID).and("validityInSeconds").gt(0L));
+        query.fields().exclude("data");
+        mongoTemplate.find(query, Blackboard.class).forEach(expiryIndex::schedule);
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        if (change.getDocumentKey() == null) {
+            return;
+        }
+        String name = change.getDocumentKey().getString("_id").getValue();
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                if (change.getFullDocument() == null) {
+                    // The blackboard was deleted before the change was read, the deletion follows in the stream
+                    blackboardCache.applyDeletion(name);
+                    return;
+                }
+                Blackboard blackboard = mongoTemplate.getConverter().read(Blackboard.class, change.getFullDocument());
+                blackboardCache.applyChange(blackboard);
+                expiryIndex.schedule(blackboard);
+                BlackboardEventType eventType = eventTypeOf(change, blackboard);
+                if (eventType != null) {
+                    publish(eventType, name, eventType == BlackboardEventType.EXPIRED ? null : blackboard);
+                }
+            }
+            case DELETE -> {
+                blackboardCache.applyDeletion(name);
+                expiryIndex.cancel(name);
+                publish(BlackboardEventType.DELETED, name, null);
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Derives the type of the event from the change. Display and clear set the time of the last update,
+     * the expiry task only sets the status; all other changes, e.g. the creation, have no event.
+     * @param change        The change.
+     * @param blackboard    The blackboard after the change.
+     * @return              The type of the event or null if no event is published.
+     */
+    private static BlackboardEventType eventTypeOf(ChangeStreamDocument<Document> change, Blackboard blackboard) {
+        return switch (change.getOperationType()) {
+            case UPDATE -> {
+                UpdateDescription description = change.getUpdateDescription();
+                if (description != null && description.getUpdatedFields() != null
+                        && description.getUpdatedFields().containsKey("lastUpdated")) {
+                    yield writeEventType(blackboard);
+                }
+                yield blackboard.getStatus() == Status.INVALID ? BlackboardEventType.EXPIRED : null;
+            }
+            case REPLACE -> writeEventType(blackboard);
+            default -> null;
+        };
+    }
+
+    private static BlackboardEventType writeEventType(Blackboard blackboard) {
+        return "".equals(blackboard.getData()) && blackboard.getStatus() == Status.INVALID
+                ? BlackboardEventType.CLEARED
+                : BlackboardEventType.DISPLAYED;
+    }
+
+    private void publish(BlackboardEventType type, String name, Blackboard blackboard) {
+        eventPublisher.publishEvent(new BlackboardChangeEvent(new BlackboardEvent(type, name, blackboard)));
+    }
+
+    /**
+     * Stops reading the change stream.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        watcher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,125 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of the expiry deadlines of all valid blackboards.
+ * The deadlines are ordered, so the expiry task only has to look at the blackboards that are actually due.
+ */
+@Component
+public class BlackboardExpiryIndex {
+    private final ConcurrentHashMap<String, Deadline> deadlines = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Deadline> queue = new ConcurrentSkipListSet<>();
+
+    /**
+     * Schedules the expiry of the given blackboard based on its last update and validity period.
+     * Blackboards that are invalid or never expire are removed from the index.
+     * @param blackboard The blackboard to schedule.
+     */
+    public void schedule(Blackboard blackboard) {
+        if (!isExpiring(blackboard)) {
+            cancel(blackboard.getName());
+            return;
+        }
+
+        Deadline deadline = deadlineOf(blackboard);
+        deadlines.compute(blackboard.getName(), (name, previous) -> {
+            if (previous != null) {
+                queue.remove(previous);
+            }
+            queue.add(deadline);
+            return deadline;
+        });
+    }
+
+    /**
+     * Schedules the expiry of the given blackboard unless a deadline is already known for it.
+     * Used when loading the index from the database, so a concurrent update is never overwritten by older data.
+     * @param blackboard The blackboard to schedule.
+     */
+    public void scheduleIfAbsent(Blackboard blackboard) {
+        if (!isExpiring(blackboard)) {
+            return;
+        }
+
+        Deadline deadline = deadlineOf(blackboard);
+        deadlines.computeIfAbsent(blackboard.getName(), name -> {
+            queue.add(deadline);
+            return deadline;
+        });
+    }
+
+    /**
+     * Removes the blackboard with the specified name from the index.
+     * @param name The name of the blackboard.
+     */
+    public void cancel(String name) {
+        deadlines.computeIfPresent(name, (key, previous) -> {
+            queue.remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Removes and returns all blackboards whose deadline has passed.
+     * @param currentTime   The current time in milliseconds.
+     * @return              The names of the expired blackboards.
+     */
+    public List<String> pollExpired(long currentTime) {
+        List<String> expired = new ArrayList<>();
+        Iterator<Deadline> iterator = queue.headSet(new Deadline(currentTime, "")).iterator();
+        while (iterator.hasNext()) {
+            Deadline deadline = iterator.next();
+            iterator.remove();
+            if (deadlines.remove(deadline.name(), deadline)) {
+                expired.add(deadline.name());
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Removes all blackboards from the index.
+     */
+    public void clear() {
+        deadlines.clear();
+        queue.clear();
+    }
+
+    /**
+     * Returns the number of blackboards in the index.
+     * @return The number of scheduled blackboards.
+     */
+    public int size() {
+        return deadlines.size();
+    }
+
+    private static boolean isExpiring(Blackboard blackboard) {
+        return blackboard.getStatus() == Status.VALID && blackboard.getValidityInSeconds() > 0;
+    }
+
+    private static Deadline deadlineOf(Blackboard blackboard) {
+        return new Deadline(blackboard.getLastUpdated() + blackboard.getValidityInSeconds() * 1000, blackboard.getName());
+    }
+
+    /**
+     * Point in time after which a blackboard is no longer valid.
+     * @param expiresAt The deadline in milliseconds.
+     * @param name      The name of the blackboard.
+     */
+    private record Deadline(long expiresAt, String name) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            int result = Long.compare(expiresAt, other.expiresAt);
+            return result != 0 ? result : name.compareTo(other.name);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardHistoryDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardHistoryEntryDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.ResourceNotFoundException;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardChangeEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the recent displayed and cleared states of each blackboard in memory, so clients can catch up on updates they missed.
+ * The history is built from the blackboard events, the main document is never read or written for it.
+ * Each blackboard keeps at most {@code blackboard.history.max-entries} entries that are not older than
+ * {@code blackboard.history.max-age} milliseconds. The history starts empty when the application starts.
+ */
+@Service
+public class BlackboardHistoryService {
+    private final ConcurrentHashMap<String, History> histories = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long maxAge;
+    private final boolean clusterEnabled;
+
+    public BlackboardHistoryService(@Value("${blackboard.history.enabled:false}") boolean enabled,
+                                    @Value("${blackboard.history.max-entries:100}") int maxEntries,
+                                    @Value("${blackboard.history.max-age:3600000}") long maxAge,
+                                    @Value("${blackboard.cluster.enabled:false}") boolean clusterEnabled) {
+        // The history is appended to inside the write of the blackboard, so a bad limit must fail on startup instead
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("blackboard.history.max-entries must be at least 1, but was " + maxEntries);
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    /**
+     * Records a blackboard event of this instance, unless the cluster mode is enabled.
+     * @param event The event to record.
+     */
+    @EventListener
+    public void onBlackboardEvent(BlackboardEvent event) {
+        if (!clusterEnabled) {
+            record(event);
+        }
+    }
+
+    /**
+     * Records a blackboard event read from the change stream, which covers the changes of all instances.
+     * @param changeEvent The event to record.
+     */
+    @EventListener
+    public void onBlackboardChangeEvent(BlackboardChangeEvent changeEvent) {
+        record(changeEvent.getEvent());
+    }
+
+    /**
+     * Returns the entries of the history of the given blackboard after the given sequence number, oldest first.
+     * @param blackboard    The current state of the blackboard.
+     * @param since         The sequence number of the last entry known to the client, 0 for all retained entries.
+     * @return              The newer entries.
+     */
+    public BlackboardHistoryDTO readHistory(Blackboard blackboard, long since) {
+        if (!enabled) {
+            throw new ResourceNotFoundException("Blackboard history is disabled");
+        }
+
+        History history = histories.get(blackboard.getName());
+        if (history == null) {
+            // Nothing is retained, so every change after the sequence number is missing
+            long version = blackboard.getVersion() == null ? 0 : blackboard.getVersion();
+            return new BlackboardHistoryDTO(blackboard.getName(), List.of(), since < version);
+        }
+        return history.readSince(blackboard.getName(), since, System.currentTimeMillis() - maxAge);
+    }
+
+    /**
+     * Removes the entries that are older than the maximum age and the histories left empty.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void removeExpiredEntries() {
+        if (!enabled) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - maxAge;
+        for (String name : histories.keySet()) {
+            histories.computeIfPresent(name, (key, history) -> history.removeOlderThan(cutoff) ? null : history);
+        }
+    }
+
+    private void record(BlackboardEvent event) {
+        if (!enabled) {
+            return;
+        }
+        switch (event.getType()) {
+            case DISPLAYED, CLEARED -> {
+                Blackboard blackboard = event.getBlackboard();
+                if (blackboard == null || blackboard.getVersion() == null) {
+                    return;
+                }
+                BlackboardHistoryEntryDTO entry = new BlackboardHistoryEntryDTO(
+                        blackboard.getVersion(), blackboard.getData(), blackboard.getLastUpdated());
+                long cutoff = System.currentTimeMillis() - maxAge;
+                // Appending inside compute, so a history cannot be removed as empty while the entry is added
+                histories.compute(event.getName(), (name, history) -> {
+                    History target = history != null ? history : new History(maxEntries, blackboard.getVersion() - 1);
+                    target.append(entry, cutoff);
+                    return target;
+                });
+            }
+            case DELETED -> histories.remove(event.getName());
+            case PURGED -> histories.clear();
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Bounded history of one blackboard. The entries are kept in an array deque used as a ring buffer.
+     */
+    private static final class History {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<BlackboardHistoryEntryDTO> entries;
+        private final int maxEntries;
+        private long droppedUpTo;
+
+        private History(int maxEntries, long droppedUpTo) {
+            this.entries = new ArrayDeque<>(maxEntries);
+            this.maxEntries = maxEntries;
+            this.droppedUpTo = droppedUpTo;
+        }
+
+        private void append(BlackboardHistoryEntryDTO entry, long cutoff) {
+            lock.lock();
+            try {
+                BlackboardHistoryEntryDTO newest = entries.peekLast();
+                if (newest != null && newest.getSequence() >= entry.getSequence()) {
+                    // Already recorded, events of the same change may arrive more than once
+                    return;
+                }
+                if (entries.size() == maxEntries) {
+                    droppedUpTo = entries.removeFirst().getSequence();
+                }
+                entries.addLast(entry);
+                removeOlderThan(cutoff);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private BlackboardHistoryDTO readSince(String name, long since, long cutoff) {
+            lock.lock();
+            try {
+                removeOlderThan(cutoff);
+                List<BlackboardHistoryEntryDTO> newer = new ArrayList<>();
+                Iterator<BlackboardHistoryEntryDTO> iterator = entries.descendingIterator();
+                while (iterator.hasNext()) {
+                    BlackboardHistoryEntryDTO entry = iterator.next();
+                    if (entry.getSequence() <= since) {
+                        break;
+                    }
+                    newer.add(entry);
+                }
+                Collections.reverse(newer);
+                return new BlackboardHistoryDTO(name, newer, droppedUpTo > since);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Removes the entries older than the given time.
+         * @param cutoff    The time of the last update an entry needs at least to be kept.
+         * @return          Whether the history is empty afterwards.
+         */
+        private boolean removeOlderThan(long cutoff) {
+            lock.lock();
+            try {
+                while (!entries.isEmpty() && entries.peekFirst().getLastUpdated() < cutoff) {
+                    droppedUpTo = entries.removeFirst().getSequence();
+                }
+                return entries.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
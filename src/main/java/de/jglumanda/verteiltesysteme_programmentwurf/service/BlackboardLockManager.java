@@ -0,0 +1,134 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Locks of the blackboards, striped over a fixed power-of-two number of {@link StampedLock}s.
+ * Every name is mapped to one stripe by its hash, so the same name always gets the same lock and taking a lock never
+ * allocates or removes anything. Blackboards sharing a stripe exclude each other as well, which costs some concurrency
+ * for unrelated blackboards but never mutual exclusion per blackboard.
+ * The locks are not reentrant. To lock several blackboards at once, their stripes are locked in ascending order
+ * and each stripe only once, so concurrent callers cannot deadlock.
+ */
+@Component
+public class BlackboardLockManager {
+    private final StampedLock[] stripes;
+    private final int mask;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public BlackboardLockManager(@Value("${blackboard.lock.stripes:1024}") int stripeCount) {
+        int capacity = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new StampedLock[capacity];
+        for (int i = 0; i < capacity; i++) {
+            stripes[i] = new StampedLock();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the stripe guarding the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The index of the stripe.
+     */
+    public int stripe(String name) {
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the stripes guarding the blackboards with the specified names, in the order they have to be locked.
+     * @param names The names of the blackboards.
+     * @return      The distinct indexes of the stripes in ascending order.
+     */
+    public int[] stripes(Collection<String> names) {
+        int[] indexes = new int[names.size()];
+        int count = 0;
+        for (String name : names) {
+            indexes[count++] = stripe(name);
+        }
+        Arrays.sort(indexes);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || indexes[distinct - 1] != indexes[i]) {
+                indexes[distinct++] = indexes[i];
+            }
+        }
+        return distinct == indexes.length ? indexes : Arrays.copyOf(indexes, distinct);
+    }
+
+    /**
+     * Acquires the given stripe exclusively, waiting if necessary.
+     * @param stripe    The index of the stripe.
+     * @return          The stamp needed to unlock the stripe.
+     */
+    public long writeLock(int stripe) {
+        StampedLock lock = stripes[stripe];
+        long stamp = lock.tryWriteLock();
+        if (stamp != 0) {
+            return stamp;
+        }
+        waiting.incrementAndGet();
+        try {
+            return lock.writeLock();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Acquires the given stripe shared with other readers, waiting if it is locked exclusively.
+     * @param stripe    The index of the stripe.
+     * @return          The stamp needed to unlock the stripe.
+     */
+    public long readLock(int stripe) {
+        StampedLock lock = stripes[stripe];
+        long stamp = lock.tryReadLock();
+        if (stamp != 0) {
+            return stamp;
+        }
+        waiting.incrementAndGet();
+        try {
+            return lock.readLock();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases the given stripe.
+     * @param stripe    The index of the stripe.
+     * @param stamp     The stamp returned when the stripe was locked.
+     */
+    public void unlock(int stripe, long stamp) {
+        stripes[stripe].unlock(stamp);
+    }
+
+    /**
+     * Returns the number of threads currently waiting for a stripe. Only threads that could not lock the stripe
+     * right away are counted, so the uncontended path does not touch the shared counter.
+     * @return The number of waiting threads.
+     */
+    public int queueLength() {
+        return waiting.get();
+    }
+
+    /**
+     * Counts the stripes that are currently locked. Visits every stripe, so it is meant for metrics only.
+     * @return The number of locked stripes.
+     */
+    public int lockedStripes() {
+        int locked = 0;
+        for (StampedLock lock : stripes) {
+            if (lock.isWriteLocked() || lock.isReadLocked()) {
+                locked++;
+            }
+        }
+        return locked;
+    }
+}
@@ -0,0 +1,105 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics of the blackboard service that are not covered by the metrics of Spring Boot.
+ * All meters are created once, so recording a value on the hot path does not look up a meter in the registry.
+ */
+@Component
+public class BlackboardMetrics {
+    private final MeterRegistry registry;
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Timer expiryRun;
+    private final DistributionSummary expiryScanned;
+    private final Counter expiryInvalidated;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public BlackboardMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.lockWait = Timer.builder("blackboard.lock.wait")
+                .description("Time spent waiting for the locks of blackboards")
+                .register(registry);
+        this.lockHold = Timer.builder("blackboard.lock.hold")
+                .description("Time the locks of blackboards are held")
+                .register(registry);
+        this.expiryRun = Timer.builder("blackboard.expiry.run")
+                .description("Duration of the runs of the expiry task")
+                .register(registry);
+        this.expiryScanned = DistributionSummary.builder("blackboard.expiry.scanned")
+                .description("Blackboards due according to the expiry index per run of the expiry task")
+                .baseUnit("blackboards")
+                .register(registry);
+        this.expiryInvalidated = Counter.builder("blackboard.expiry.invalidated")
+                .description("Blackboards invalidated by the expiry task")
+                .baseUnit("blackboards")
+                .register(registry);
+        this.rateLimited = Counter.builder("blackboard.requests.rejected")
+                .description("Requests rejected with status 429")
+                .tag("reason", "rate-limit")
+                .register(registry);
+        this.shed = Counter.builder("blackboard.requests.rejected")
+                .description("Requests rejected with status 429")
+                .tag("reason", "overload")
+                .register(registry);
+    }
+
+    /**
+     * Exposes the number of locked stripes and of threads waiting for one of the given lock manager as gauges.
+     * @param lockManager The lock manager of the blackboards.
+     */
+    public void monitorLocks(BlackboardLockManager lockManager) {
+        Gauge.builder("blackboard.locks", lockManager, BlackboardLockManager::lockedStripes)
+                .description("Lock stripes of blackboards currently held")
+                .register(registry);
+        Gauge.builder("blackboard.locks.waiting", lockManager, BlackboardLockManager::queueLength)
+                .description("Threads waiting for the lock of a blackboard")
+                .register(registry);
+    }
+
+    /**
+     * Records the use of the locks of one or more blackboards.
+     * @param requestedNanos    The time the locks were requested.
+     * @param acquiredNanos     The time all locks were acquired.
+     * @param releasedNanos     The time the locks were released.
+     */
+    public void recordLock(long requestedNanos, long acquiredNanos, long releasedNanos) {
+        lockWait.record(acquiredNanos - requestedNanos, TimeUnit.NANOSECONDS);
+        lockHold.record(releasedNanos - acquiredNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a run of the expiry task.
+     * @param durationNanos     The duration of the run.
+     * @param scanned           The number of blackboards that were due according to the expiry index.
+     * @param invalidated       The number of blackboards that were invalidated.
+     */
+    public void recordExpiryRun(long durationNanos, int scanned, int invalidated) {
+        expiryRun.record(durationNanos, TimeUnit.NANOSECONDS);
+        expiryScanned.record(scanned);
+        expiryInvalidated.increment(invalidated);
+    }
+
+    /**
+     * Records a request rejected because the client exceeded its rate limit.
+     */
+    public void recordRateLimited() {
+        rateLimited.increment();
+    }
+
+    /**
+     * Records a request shed because the service was overloaded.
+     */
+    public void recordShed() {
+        shed.increment();
+    }
+}
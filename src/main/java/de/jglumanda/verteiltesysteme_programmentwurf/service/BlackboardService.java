@@ -1,83 +1,180 @@
 package de.jglumanda.verteiltesysteme_programmentwurf.service;
 
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchDisplayItemDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BatchResultDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.BlackboardPageDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.dto.CreateBlackboardDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
 import de.jglumanda.verteiltesysteme_programmentwurf.exception.BlackboardAlreadyExistsException;
 import de.jglumanda.verteiltesysteme_programmentwurf.exception.ResourceNotFoundException;
 import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEventType;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
 import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
-import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardRepository;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.BlackboardStore;
+import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @AllArgsConstructor
 @Service
 public class BlackboardService {
-    private final BlackboardRepository blackboardRepository;
-    private final ConcurrentHashMap<String, ReentrantLock> lockMap = new ConcurrentHashMap<>();
+    private final BlackboardStore blackboardStore;
+    private final BlackboardCache blackboardCache;
+    private final BlackboardExpiryIndex expiryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlackboardMetrics metrics;
+    private final ExpiryLeaderElection expiryLeaderElection;
+    private final BlackboardLockManager lockManager;
+    private final AtomicBoolean expiryIndexLoaded = new AtomicBoolean(false);
 
     /**
-     * Executes a given action with a lock for the specified blackboard name.
+     * Exposes the number of locks in use as a metric.
+     */
+    @PostConstruct
+    private void monitorLocks() {
+        metrics.monitorLocks(lockManager);
+    }
+
+    /**
+     * Executes a given action with the exclusive lock for the specified blackboard name.
      * This method ensures that only one thread can perform the action on the blackboard at a time.
+     * Every write is a single atomic operation in the store, so the lock is not needed for consistency across
+     * instances; it keeps the updates of the cache, the expiry index and the published events in the same order as the writes to the store.
      * @param name      The name of the blackboard.
      * @param action    The action to be executed.
      * @return          The result of the action.
      * @param <T>       The return type of the action.
      */
     private <T> T executeWithLock(String name, Supplier<T> action) {
-        ReentrantLock lock = lockMap.computeIfAbsent(name, k -> new ReentrantLock());
-        lock.lock();
+        int stripe = lockManager.stripe(name);
+        long requestedNanos = System.nanoTime();
+        long stamp = lockManager.writeLock(stripe);
+        long acquiredNanos = System.nanoTime();
         try {
             return action.get();
         } finally {
-            lock.unlock();
-            cleanupLock(name, lock);
+            lockManager.unlock(stripe, stamp);
+            metrics.recordLock(requestedNanos, acquiredNanos, System.nanoTime());
         }
     }
 
     /**
-     * Executes a given action with a lock for the specified blackboard name.
+     * Executes a given action with the exclusive lock for the specified blackboard name.
      * This method ensures that only one thread can perform the action on the blackboard at a time.
      * @param name      The name of the blackboard.
      * @param action    The name of the blackboard.
      */
     private void executeWithLock(String name, Runnable action) {
-        ReentrantLock lock = lockMap.computeIfAbsent(name, k -> new ReentrantLock());
-        lock.lock();
-        try {
+        executeWithLock(name, () -> {
             action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes a given action with the shared lock for the specified blackboard name.
+     * Other readers may run at the same time, but no action holding the exclusive lock.
+     * @param name      The name of the blackboard.
+     * @param action    The action to be executed.
+     * @return          The result of the action.
+     * @param <T>       The return type of the action.
+     */
+    private <T> T executeWithReadLock(String name, Supplier<T> action) {
+        int stripe = lockManager.stripe(name);
+        long requestedNanos = System.nanoTime();
+        long stamp = lockManager.readLock(stripe);
+        long acquiredNanos = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            lockManager.unlock(stripe, stamp);
+            metrics.recordLock(requestedNanos, acquiredNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Executes a given action with the exclusive locks for all specified blackboard names.
+     * The lock manager orders the locks, so concurrent batches cannot deadlock.
+     * @param names     The names of the blackboards.
+     * @param action    The action to be executed.
+     * @return          The result of the action.
+     * @param <T>       The return type of the action.
+     */
+    private <T> T executeWithLocks(Collection<String> names, Supplier<T> action) {
+        return executeWithStripes(lockManager.stripes(names), action);
+    }
+
+    /**
+     * Executes a given action with the exclusive locks of the given stripes.
+     * @param stripes   The distinct stripes in ascending order.
+     * @param action    The action to be executed.
+     * @return          The result of the action.
+     * @param <T>       The return type of the action.
+     */
+    private <T> T executeWithStripes(int[] stripes, Supplier<T> action) {
+        long[] stamps = new long[stripes.length];
+        int locked = 0;
+        long requestedNanos = System.nanoTime();
+        long acquiredNanos = requestedNanos;
+        try {
+            for (; locked < stripes.length; locked++) {
+                stamps[locked] = lockManager.writeLock(stripes[locked]);
+            }
+            acquiredNanos = System.nanoTime();
+            return action.get();
         } finally {
-            lock.unlock();
-            cleanupLock(name, lock);
+            for (int i = locked - 1; i >= 0; i--) {
+                lockManager.unlock(stripes[i], stamps[i]);
+            }
+            if (locked == stripes.length) {
+                metrics.recordLock(requestedNanos, acquiredNanos, System.nanoTime());
+            }
         }
     }
 
     /**
      * Creates a new blackboard.
+     * The blackboard is inserted right away, an existing blackboard is detected by the unique name in the store.
      * @param createBlackboardDTO   Data Transfer Object containing the details of the blackboard to be created.
      * @return                      The created blackboard.
      */
     public Blackboard createBlackboard(CreateBlackboardDTO createBlackboardDTO) {
         return executeWithLock(createBlackboardDTO.getName(), () -> {
-            Optional<Blackboard> existingBlackboard = blackboardRepository.findById(createBlackboardDTO.getName());
-            if (existingBlackboard.isPresent()) {
-                throw new BlackboardAlreadyExistsException("Blackboard with name '" + createBlackboardDTO.getName() + "' already exists");
-            }
-
             Blackboard blackboard = new Blackboard();
             blackboard.setName(createBlackboardDTO.getName());
             blackboard.setData("");
             blackboard.setValidityInSeconds(createBlackboardDTO.getValidityInSeconds());
             blackboard.setLastUpdated(System.currentTimeMillis());
             blackboard.setStatus(Status.VALID);
-            return blackboardRepository.insert(blackboard);
+            long cacheStamp = blackboardCache.stamp(blackboard.getName());
+            Blackboard createdBlackboard;
+            try {
+                createdBlackboard = blackboardStore.insert(blackboard);
+            } catch (DuplicateKeyException ex) {
+                throw new BlackboardAlreadyExistsException("Blackboard with name '" + createBlackboardDTO.getName() + "' already exists");
+            }
+            onUpdated(createdBlackboard, null, cacheStamp);
+            return createdBlackboard;
         });
     }
 
@@ -89,13 +186,13 @@ public class BlackboardService {
      */
     public Blackboard displayBlackboard(String name, DisplayDataDTO displayDataDTO) {
         return executeWithLock(name, () -> {
-            Blackboard blackboard = blackboardRepository.findById(name)
-                    .orElseThrow(() -> new ResourceNotFoundException("Blackboard not found"));
-
-            blackboard.setData(displayDataDTO.getData());
-            blackboard.setLastUpdated(System.currentTimeMillis());
-            blackboard.setStatus(Status.VALID);
-            return blackboardRepository.save(blackboard);
+            long cacheStamp = blackboardCache.stamp(name);
+            Blackboard savedBlackboard = blackboardStore.display(name, displayDataDTO.getData(), System.currentTimeMillis());
+            if (savedBlackboard == null) {
+                throw new ResourceNotFoundException("Blackboard not found");
+            }
+            onUpdated(savedBlackboard, BlackboardEventType.DISPLAYED, cacheStamp);
+            return savedBlackboard;
         });
     }
 
@@ -105,32 +202,87 @@ public class BlackboardService {
      */
     public void clearBlackboard(String name) {
         executeWithLock(name, () -> {
-            Blackboard blackboard = blackboardRepository.findById(name)
-                    .orElseThrow(() -> new ResourceNotFoundException("Blackboard not found"));
-
-            blackboard.setData("");
-            blackboard.setLastUpdated(System.currentTimeMillis());
-            blackboard.setStatus(Status.INVALID);
-            blackboardRepository.save(blackboard);
+            long cacheStamp = blackboardCache.stamp(name);
+            Blackboard savedBlackboard = blackboardStore.clear(name, System.currentTimeMillis());
+            if (savedBlackboard == null) {
+                throw new ResourceNotFoundException("Blackboard not found");
+            }
+            onUpdated(savedBlackboard, BlackboardEventType.CLEARED, cacheStamp);
         });
     }
 
     /**
      * Reads the blackboard with the specified name.
+     * The blackboard is served from the cache without taking the lock; only misses take the shared lock and are loaded
+     * from the store, so a load cannot overwrite the result of a concurrent write in the cache. Concurrent misses may
+     * load the same blackboard, the cache keeps the newer version.
      * @param name  The name of the blackboard.
      * @return      The read blackboard.
      */
     public Blackboard readBlackboard(String name) {
-        return executeWithLock(name, () -> blackboardRepository.findById(name)
-                .orElseThrow(() -> new ResourceNotFoundException("Blackboard not found")));
+        Blackboard blackboard = blackboardCache.getIfPresent(name);
+        if (blackboard == null) {
+            blackboard = executeWithReadLock(name, () -> loadBlackboard(name));
+        }
+        if (blackboard == null) {
+            throw new ResourceNotFoundException("Blackboard not found");
+        }
+        return blackboard;
+    }
+
+    /**
+     * Loads the blackboard with the specified name into the cache unless another thread already did.
+     * Has to be called while holding the shared or exclusive lock of the blackboard. The store is not queried inside the cache,
+     * as the cache computes entries in synchronized blocks, which would pin virtual threads during the query.
+     * @param name  The name of the blackboard.
+     * @return      The blackboard or null if it does not exist.
+     */
+    private Blackboard loadBlackboard(String name) {
+        Blackboard cachedBlackboard = blackboardCache.getIfPresent(name);
+        if (cachedBlackboard != null) {
+            return cachedBlackboard;
+        }
+
+        long stamp = blackboardCache.stamp(name);
+        Blackboard blackboard = blackboardStore.findById(name).orElse(null);
+        if (blackboard != null) {
+            blackboardCache.putIfUnchanged(blackboard, stamp);
+        }
+        return blackboard;
+    }
+
+    /**
+     * Lists all blackboards matching the given filter.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is included.
+     * @return              A list of all matching blackboards.
+     */
+    public List<Blackboard> listBlackboards(BlackboardFilter filter, boolean includeData) {
+        return blackboardStore.findAll(filter, includeData);
+    }
+
+    /**
+     * Lists a page of blackboards matching the given filter, using the name of the last blackboard as cursor.
+     * @param filter        The filter the blackboards have to match.
+     * @param after         The cursor returned with the previous page or null for the first page.
+     * @param limit         The maximum number of blackboards on the page.
+     * @param includeData   Whether the data of the blackboards is included.
+     * @return              The page of blackboards with the cursor of the next page.
+     */
+    public BlackboardPageDTO listBlackboardPage(BlackboardFilter filter, String after, int limit, boolean includeData) {
+        List<Blackboard> blackboards = blackboardStore.findPage(filter, after, limit, includeData);
+        String nextCursor = blackboards.size() < limit ? null : blackboards.get(blackboards.size() - 1).getName();
+        return new BlackboardPageDTO(blackboards, nextCursor);
     }
 
     /**
-     * Lists all blackboards.
-     * @return A list of all blackboards.
+     * Streams all blackboards matching the given filter. The stream has to be closed after use.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is included.
+     * @return              A stream of all matching blackboards.
      */
-    public List<Blackboard> listBlackboards() {
-        return blackboardRepository.findAll();
+    public Stream<Blackboard> streamBlackboards(BlackboardFilter filter, boolean includeData) {
+        return blackboardStore.streamAll(filter, includeData);
     }
 
     /**
@@ -139,54 +291,254 @@ public class BlackboardService {
      */
     public void deleteBlackboard(String name) {
         executeWithLock(name, () -> {
-            Blackboard blackboard = blackboardRepository.findById(name)
-                    .orElseThrow(() -> new ResourceNotFoundException("Blackboard not found"));
+            if (blackboardStore.deleteAndCount(name) == 0) {
+                throw new ResourceNotFoundException("Blackboard not found");
+            }
+            onDeleted(name);
+        });
+    }
+
+    /**
+     * Deletes all blackboards matching the given filter with one operation in the store.
+     * No locks are taken. Instead the whole cache is invalidated before and after the deletion, which changes the stamp
+     * of every blackboard: a write or load that started before the deletion finished cannot put its result into the
+     * cache afterwards, even if it committed before the deletion. Deadlines of deleted blackboards stay in the expiry
+     * index until they are due and are then skipped.
+     * @param filter    The filter the blackboards have to match.
+     * @return          The number of deleted blackboards.
+     */
+    public long deleteAllBlackboards(BlackboardFilter filter) {
+        blackboardCache.invalidateAll();
+        long deletedBlackboards = blackboardStore.deleteMatching(filter);
+        blackboardCache.invalidateAll();
+        eventPublisher.publishEvent(new BlackboardEvent(BlackboardEventType.PURGED, null, null));
+        return deletedBlackboards;
+    }
+
+    /**
+     * Creates multiple blackboards with one bulk write.
+     * @param createBlackboardDTOs  Data Transfer Objects containing the details of the blackboards to be created.
+     * @return                      The result for each blackboard in the order of the request.
+     */
+    public List<BatchResultDTO> createBlackboards(List<CreateBlackboardDTO> createBlackboardDTOs) {
+        List<String> names = createBlackboardDTOs.stream().map(CreateBlackboardDTO::getName).toList();
+        return executeWithLocks(names, () -> {
+            long currentTime = System.currentTimeMillis();
+            List<Blackboard> blackboards = new ArrayList<>(createBlackboardDTOs.size());
+            for (CreateBlackboardDTO createBlackboardDTO : createBlackboardDTOs) {
+                Blackboard blackboard = new Blackboard();
+                blackboard.setName(createBlackboardDTO.getName());
+                blackboard.setData("");
+                blackboard.setValidityInSeconds(createBlackboardDTO.getValidityInSeconds());
+                blackboard.setLastUpdated(currentTime);
+                blackboard.setStatus(Status.VALID);
+                blackboard.setVersion(0L);
+                blackboards.add(blackboard);
+            }
+
+            Map<String, Long> cacheStamps = cacheStamps(names);
+            Map<Integer, DataAccessException> failures = blackboardStore.insertAllSkippingExisting(blackboards);
+            List<BatchResultDTO> results = new ArrayList<>(blackboards.size());
+            for (int i = 0; i < blackboards.size(); i++) {
+                Blackboard blackboard = blackboards.get(i);
+                DataAccessException failure = failures.get(i);
+                if (failure instanceof DuplicateKeyException) {
+                    results.add(failure(blackboard.getName(), HttpStatus.CONFLICT,
+                            "Blackboard with name '" + blackboard.getName() + "' already exists"));
+                } else if (failure != null) {
+                    // The blackboard may have been written nevertheless, its deadline is skipped when due if it was not
+                    expiryIndex.schedule(blackboard);
+                    results.add(failure(blackboard.getName(), HttpStatus.INTERNAL_SERVER_ERROR,
+                            "Blackboard could not be created: " + failure.getMessage()));
+                } else {
+                    onUpdated(blackboard, null, cacheStamps.get(blackboard.getName()));
+                    results.add(success(blackboard.getName(), blackboard));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Displays data on multiple blackboards with one bulk write.
+     * If a blackboard occurs more than once, the last data is displayed.
+     * @param items The names of the blackboards and the data to be displayed.
+     * @return      The result for each item in the order of the request.
+     */
+    public List<BatchResultDTO> displayBlackboards(List<BatchDisplayItemDTO> items) {
+        Map<String, String> dataByName = new LinkedHashMap<>();
+        items.forEach(item -> dataByName.put(item.getName(), item.getData()));
+        return executeWithLocks(dataByName.keySet(), () -> {
+            Map<String, Long> cacheStamps = cacheStamps(dataByName.keySet());
+            blackboardStore.displayAll(dataByName, System.currentTimeMillis());
+            Map<String, Blackboard> updated = findAllByName(dataByName.keySet());
+            updated.values().forEach(blackboard -> onUpdated(blackboard, BlackboardEventType.DISPLAYED,
+                    cacheStamps.get(blackboard.getName())));
+            return items.stream().map(item -> result(item.getName(), updated)).toList();
+        });
+    }
+
+    /**
+     * Clears the data on multiple blackboards with one update.
+     * @param names The names of the blackboards.
+     * @return      The result for each blackboard in the order of the request.
+     */
+    public List<BatchResultDTO> clearBlackboards(List<String> names) {
+        return executeWithLocks(names, () -> {
+            Map<String, Long> cacheStamps = cacheStamps(names);
+            blackboardStore.clearAll(names, System.currentTimeMillis());
+            Map<String, Blackboard> cleared = findAllByName(names);
+            cleared.values().forEach(blackboard -> onUpdated(blackboard, BlackboardEventType.CLEARED,
+                    cacheStamps.get(blackboard.getName())));
+            return names.stream().map(name -> result(name, cleared)).toList();
+        });
+    }
+
+    /**
+     * Reads multiple blackboards. Cached blackboards are served from the cache, all others are loaded with one query.
+     * @param names The names of the blackboards.
+     * @return      The result for each blackboard in the order of the request.
+     */
+    public List<BatchResultDTO> readBlackboards(List<String> names) {
+        Map<String, Blackboard> blackboards = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Blackboard blackboard = blackboardCache.getIfPresent(name);
+            if (blackboard != null) {
+                blackboards.put(name, blackboard);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            blackboards.putAll(findAllByName(missing));
+        }
+        return names.stream().map(name -> result(name, blackboards)).toList();
+    }
 
-            blackboardRepository.delete(blackboard);
+    /**
+     * Deletes multiple blackboards with one delete.
+     * @param names The names of the blackboards.
+     * @return      The result for each blackboard in the order of the request.
+     */
+    public List<BatchResultDTO> deleteBlackboards(List<String> names) {
+        return executeWithLocks(names, () -> {
+            Set<String> deleted = Set.copyOf(blackboardStore.deleteAllExisting(names));
+            deleted.forEach(this::onDeleted);
+            return names.stream()
+                    .map(name -> deleted.contains(name)
+                            ? success(name, null)
+                            : failure(name, HttpStatus.NOT_FOUND, "Blackboard not found"))
+                    .toList();
         });
     }
 
     /**
-     * Deletes all blackboards.
+     * Finds the blackboards with the specified names in the store.
+     * @param names The names of the blackboards.
+     * @return      The existing blackboards by name.
+     */
+    private Map<String, Blackboard> findAllByName(Collection<String> names) {
+        return blackboardStore.findAllById(names).stream()
+                .collect(Collectors.toMap(Blackboard::getName, Function.identity()));
+    }
+
+    /**
+     * Takes the cache stamps of the specified blackboards before they are written, see {@link BlackboardCache#stamp(String)}.
+     * @param names The names of the blackboards.
+     * @return      The stamps by name.
+     */
+    private Map<String, Long> cacheStamps(Collection<String> names) {
+        Map<String, Long> cacheStamps = new HashMap<>();
+        for (String name : names) {
+            cacheStamps.put(name, blackboardCache.stamp(name));
+        }
+        return cacheStamps;
+    }
+
+    private static BatchResultDTO result(String name, Map<String, Blackboard> blackboards) {
+        Blackboard blackboard = blackboards.get(name);
+        return blackboard != null ? success(name, blackboard) : failure(name, HttpStatus.NOT_FOUND, "Blackboard not found");
+    }
+
+    private static BatchResultDTO success(String name, Blackboard blackboard) {
+        return new BatchResultDTO(name, HttpStatus.OK.value(), blackboard, null);
+    }
+
+    private static BatchResultDTO failure(String name, HttpStatus status, String error) {
+        return new BatchResultDTO(name, status.value(), null, error);
+    }
+
+    /**
+     * Updates the cache and the expiry index after a blackboard was written and publishes the event of the change.
+     * Has to be called while holding the lock of the blackboard. The blackboard is not cached if it was invalidated
+     * since the write started, e.g. because all blackboards were deleted meanwhile.
+     * @param blackboard    The written blackboard.
+     * @param eventType     The type of the event to publish or null if no event is published.
+     * @param cacheStamp    The cache stamp of the blackboard taken before the write.
      */
-    public void deleteAllBlackboards() {
-        List<Blackboard> blackboards = blackboardRepository.findAll();
-        for (Blackboard blackboard : blackboards) {
-            executeWithLock(blackboard.getName(), () -> blackboardRepository.delete(blackboard));
+    private void onUpdated(Blackboard blackboard, BlackboardEventType eventType, long cacheStamp) {
+        blackboardCache.putIfUnchanged(blackboard, cacheStamp);
+        expiryIndex.schedule(blackboard);
+        if (eventType != null) {
+            eventPublisher.publishEvent(new BlackboardEvent(eventType, blackboard.getName(), blackboard));
         }
     }
 
     /**
-     * Updates the status of all blackboards based on their validity period.
+     * Removes a deleted blackboard from the cache and the expiry index and publishes the event of the deletion.
+     * Has to be called while holding the lock of the blackboard.
+     * @param name The name of the deleted blackboard.
+     */
+    private void onDeleted(String name) {
+        blackboardCache.invalidate(name);
+        expiryIndex.cancel(name);
+        eventPublisher.publishEvent(new BlackboardEvent(BlackboardEventType.DELETED, name, null));
+    }
+
+    /**
+     * Updates the status of all blackboards whose validity period has passed.
+     * Only the blackboards that are due according to the expiry index are invalidated, using a single bulk update.
+     * The locks of the due blackboards are held meanwhile, so a load that read a blackboard before it expired cannot
+     * put it into the cache after the invalidation.
+     * The index is loaded from the database on the first run, blackboards stored without a version are migrated then as well.
+     * In the cluster mode every instance keeps its index up to date, but only the elected leader invalidates blackboards.
      */
     @Scheduled(fixedRate = 1000)
     public void updateBlackboardStatus() {
-        List<Blackboard> blackboards = blackboardRepository.findAll();
-        long currentTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        if (!expiryIndexLoaded.get()) {
+            blackboardStore.initializeMissingVersions();
+            loadExpiryIndex();
+        }
+        if (!expiryLeaderElection.acquireLeadership()) {
+            return;
+        }
 
-        for (Blackboard blackboard : blackboards) {
-            executeWithLock(blackboard.getName(), () -> {
-                if (blackboard.getValidityInSeconds() > 0 &&
-                        currentTime - blackboard.getLastUpdated() > blackboard.getValidityInSeconds() * 1000) {
-                    blackboard.setStatus(Status.INVALID);
-                    blackboardRepository.save(blackboard);
-                }
-            });
+        long currentTime = System.currentTimeMillis();
+        List<String> dueBlackboards = expiryIndex.pollExpired(currentTime);
+        if (dueBlackboards.isEmpty()) {
+            metrics.recordExpiryRun(System.nanoTime() - startNanos, 0, 0);
+            return;
         }
+
+        List<String> expiredBlackboards = executeWithLocks(dueBlackboards, () -> {
+            List<String> expired = blackboardStore.invalidateExpired(dueBlackboards, currentTime);
+            blackboardCache.invalidateAll(expired);
+            for (String name : expired) {
+                eventPublisher.publishEvent(new BlackboardEvent(BlackboardEventType.EXPIRED, name, null));
+            }
+            return expired;
+        });
+        metrics.recordExpiryRun(System.nanoTime() - startNanos, dueBlackboards.size(), expiredBlackboards.size());
     }
 
     /**
-     * Cleans up the lock for the specified blackboard name.
-     * @param name The name of the blackboard.
-     * @param lock The lock to be cleaned up.
+     * Loads the deadlines of all valid blackboards with a limited validity period into the expiry index.
      */
-    private void cleanupLock(String name, ReentrantLock lock) {
-        if (lock.tryLock()) {
-            try {
-                lockMap.remove(name);
-            } finally {
-                lock.unlock();
-            }
-        }
+    private void loadExpiryIndex() {
+        blackboardStore.findAllByStatusAndValidityInSecondsGreaterThan(Status.VALID, 0L)
+                .forEach(expiryIndex::scheduleIfAbsent);
+        expiryIndexLoaded.set(true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardChangeEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEventType;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes blackboard events to subscribed clients using Server-Sent Events.
+ * Each event is serialized once and shared by all subscribers of the blackboard. Every subscriber has a bounded
+ * buffer that is drained on a virtual thread, so a client that stops reading blocks only its own thread and never
+ * delays the others. Subscribers that cannot keep up are disconnected: when their buffer overflows or when a single
+ * send takes longer than {@code blackboard.subscription.send-timeout} milliseconds.
+ * In the cluster mode the events are taken from the change stream instead, so subscribers also receive the changes
+ * made through other instances.
+ */
+@Service
+public class BlackboardSubscriptionService {
+    private final ConcurrentHashMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeout;
+    private final long sendTimeoutNanos;
+    private final boolean clusterEnabled;
+
+    public BlackboardSubscriptionService(ObjectMapper objectMapper,
+                                         @Value("${blackboard.subscription.buffer-size:32}") int bufferSize,
+                                         @Value("${blackboard.subscription.timeout:1800000}") long timeout,
+                                         @Value("${blackboard.subscription.send-timeout:5000}") long sendTimeout,
+                                         @Value("${blackboard.cluster.enabled:false}") boolean clusterEnabled) {
+        this.objectMapper = objectMapper;
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blackboard-subscription-", 0).factory());
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeout);
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    /**
+     * Subscribes to the events of the given blackboards.
+     * @param names The names of the blackboards.
+     * @return      The emitter that streams the events to the client.
+     */
+    public SseEmitter subscribe(Collection<String> names) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(names));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+
+        for (String name : subscriber.names) {
+            subscribers.computeIfAbsent(name, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        // Sends the response headers right away, so the client knows the subscription is established
+        subscriber.offer(heartbeat);
+        return emitter;
+    }
+
+    /**
+     * Forwards a blackboard event of this instance to all subscribers of the blackboard, unless the cluster mode is enabled.
+     * @param event The event to forward.
+     */
+    @EventListener
+    public void onBlackboardEvent(BlackboardEvent event) {
+        if (!clusterEnabled) {
+            forward(event);
+        }
+    }
+
+    /**
+     * Forwards a blackboard event read from the change stream to all subscribers of the blackboard.
+     * @param changeEvent The event to forward.
+     */
+    @EventListener
+    public void onBlackboardChangeEvent(BlackboardChangeEvent changeEvent) {
+        forward(changeEvent.getEvent());
+    }
+
+    private void forward(BlackboardEvent event) {
+        if (event.getType() == BlackboardEventType.PURGED) {
+            Set<DataWithMediaType> payload = serialize(event);
+            subscribers.values().stream()
+                    .flatMap(Set::stream)
+                    .distinct()
+                    .forEach(subscriber -> subscriber.offer(payload));
+            return;
+        }
+
+        Set<Subscriber> blackboardSubscribers = subscribers.get(event.getName());
+        if (blackboardSubscribers == null || blackboardSubscribers.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> payload = serialize(event);
+        for (Subscriber subscriber : blackboardSubscribers) {
+            subscriber.offer(payload);
+        }
+    }
+
+    /**
+     * Sends a heartbeat to all subscribers, so connections closed by the client are detected and released.
+     */
+    @Scheduled(fixedRate = 15000)
+    public void sendHeartbeat() {
+        subscribers.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+
+    /**
+     * Disconnects the subscribers whose current send exceeds the send timeout, e.g. because the client stopped reading
+     * and its TCP window is full. They receive no further events, so their buffers are released right away.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        subscribers.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .filter(subscriber -> subscriber.isStalled(now))
+                .forEach(Subscriber::drop);
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     * @return The number of subscribers.
+     */
+    public long countSubscribers() {
+        return subscribers.values().stream().flatMap(Set::stream).distinct().count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private Set<DataWithMediaType> serialize(BlackboardEvent event) {
+        try {
+            return SseEmitter.event()
+                    .name(event.getType().name())
+                    .data(objectMapper.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize blackboard event", ex);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        for (String name : subscriber.names) {
+            subscribers.computeIfPresent(name, (key, blackboardSubscribers) -> {
+                blackboardSubscribers.remove(subscriber);
+                return blackboardSubscribers.isEmpty() ? null : blackboardSubscribers;
+            });
+        }
+    }
+
+    /**
+     * Client connection with its own bounded buffer of pending events.
+     * At most one dispatcher thread drains the buffer at a time, so the events are sent in order.
+     * A dropped subscriber is closed right away, its emitter is completed by a dispatcher thread exactly once.
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Set<String> names;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final AtomicBoolean dropped = new AtomicBoolean(false);
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, Set<String> names) {
+            this.emitter = emitter;
+            this.names = names;
+        }
+
+        private void offer(Set<DataWithMediaType> payload) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(payload)) {
+                // Slow consumer, drop it instead of buffering without limit
+                drop();
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        private boolean isStalled(long now) {
+            long startedNanos = sendStartedNanos;
+            return startedNanos != 0 && now - startedNanos > sendTimeoutNanos;
+        }
+
+        /**
+         * Disconnects the subscriber. The emitter is completed on its own dispatcher thread, since completing waits for
+         * a send in progress, and the caller may be publishing while holding the blackboard's lock or be the watchdog.
+         */
+        private void drop() {
+            if (closed.get() || !dropped.compareAndSet(false, true)) {
+                return;
+            }
+            close();
+            dispatcher.execute(emitter::complete);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Set<DataWithMediaType> payload;
+                while (!closed.get() && (payload = buffer.poll()) != null) {
+                    sendStartedNanos = System.nanoTime();
+                    try {
+                        emitter.send(payload);
+                    } finally {
+                        sendStartedNanos = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+            } finally {
+                scheduled.set(false);
+                if (!closed.get() && !buffer.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    dispatcher.execute(this);
+                }
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.LeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Elects the instance that runs the expiry task, so only one instance of the cluster scans for expired blackboards.
+ * The leader holds a lease in the database and renews it on every run of the task; if it stops, another instance
+ * takes over once the lease has expired. Without the cluster mode every instance is the leader, so the lease repository
+ * is not needed and missing if MongoDB is not configured, e.g. with the embedded store.
+ */
+@Component
+public class ExpiryLeaderElection {
+    private static final Logger log = LoggerFactory.getLogger(ExpiryLeaderElection.class);
+    private static final String LEASE_NAME = "blackboard-expiry";
+
+    private final LeaseRepository leaseRepository;
+    private final boolean clusterEnabled;
+    private final long leaseDuration;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile boolean leader;
+
+    public ExpiryLeaderElection(@Nullable LeaseRepository leaseRepository,
+                                @Value("${blackboard.cluster.enabled:false}") boolean clusterEnabled,
+                                @Value("${blackboard.cluster.lease-duration:10000}") long leaseDuration) {
+        this.leaseRepository = leaseRepository;
+        this.clusterEnabled = clusterEnabled;
+        this.leaseDuration = leaseDuration;
+    }
+
+    /**
+     * Acquires or renews the leadership for the expiry task.
+     * @return Whether this instance is the leader until the next call.
+     */
+    public boolean acquireLeadership() {
+        if (!clusterEnabled) {
+            return true;
+        }
+
+        boolean acquired;
+        try {
+            acquired = leaseRepository.tryAcquire(LEASE_NAME, owner, System.currentTimeMillis(), leaseDuration);
+        } catch (DataAccessException ex) {
+            log.warn("Could not renew the lease of the expiry task", ex);
+            acquired = false;
+        }
+        if (acquired != leader) {
+            log.info(acquired ? "Became leader of the expiry task" : "Lost the leadership of the expiry task");
+        }
+        leader = acquired;
+        return acquired;
+    }
+
+    /**
+     * Releases the lease on shutdown, so another instance takes over without waiting for it to expire.
+     */
+    @PreDestroy
+    public void releaseLeadership() {
+        if (clusterEnabled && leader) {
+            leaseRepository.release(LEASE_NAME, owner);
+            leader = false;
+        }
+    }
+}
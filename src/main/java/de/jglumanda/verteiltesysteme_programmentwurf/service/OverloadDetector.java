@@ -0,0 +1,117 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects whether the service is overloaded, so new requests can be shed before they queue up behind the database
+ * or the locks of the blackboards. The service counts as overloaded if the moving average of the latency of the
+ * database commands or the number of threads waiting for the locks of blackboards exceeds its threshold.
+ * The latency is measured as command listener of the MongoDB driver. Only commands on a single blackboard by its name
+ * are measured, as listing, bulk writes and the expiry update scan many documents and are slow by design.
+ * Without recent commands the average is considered stale, so the service recovers even if every request is shed.
+ * In the reactive mode no thread waits for a lock, so only the latency of the database commands counts there.
+ */
+@Component
+public class OverloadDetector implements CommandListener {
+    private static final double SMOOTHING = 0.2;
+    private static final long STALE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final BsonArray EMPTY = new BsonArray();
+
+    private final BlackboardLockManager lockManager;
+    private final long maxLatencyNanos;
+    private final int maxLockQueueLength;
+    private final AtomicLong averageLatencyNanos = new AtomicLong();
+    private final Set<Integer> measuredRequests = ConcurrentHashMap.newKeySet();
+    private volatile long lastSampleNanos = System.nanoTime() - STALE_AFTER_NANOS;
+
+    public OverloadDetector(BlackboardLockManager lockManager,
+                            @Value("${blackboard.load-shedding.max-mongo-latency:200}") long maxLatencyMillis,
+                            @Value("${blackboard.load-shedding.max-lock-queue:1000}") int maxLockQueueLength) {
+        this.lockManager = lockManager;
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.maxLockQueueLength = maxLockQueueLength;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (isPointOperation(event.getCommandName(), event.getCommand())) {
+            measuredRequests.add(event.getRequestId());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        recordLatency(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        recordLatency(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void recordLatency(int requestId, long latencyNanos) {
+        if (!measuredRequests.remove(requestId)) {
+            return;
+        }
+        averageLatencyNanos.getAndUpdate(average -> average + (long) (SMOOTHING * (latencyNanos - average)));
+        lastSampleNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks whether the command reads or writes a single blackboard selected by its name, which is the name of the
+     * document. Their latency reflects the load of the database, unlike that of commands touching many documents.
+     * @param commandName   The name of the command.
+     * @param command       The command document.
+     * @return              Whether the command is measured.
+     */
+    private static boolean isPointOperation(String commandName, BsonDocument command) {
+        return switch (commandName) {
+            case "findAndModify" -> true;
+            case "find" -> isById(command.get("filter"));
+            case "insert" -> command.getArray("documents", EMPTY).size() == 1;
+            case "update" -> isSingleStatementById(command.getArray("updates", EMPTY));
+            case "delete" -> isSingleStatementById(command.getArray("deletes", EMPTY));
+            default -> false;
+        };
+    }
+
+    private static boolean isSingleStatementById(BsonArray statements) {
+        return statements.size() == 1 && statements.get(0).isDocument() && isById(statements.get(0).asDocument().get("q"));
+    }
+
+    private static boolean isById(BsonValue filter) {
+        if (filter == null || !filter.isDocument()) {
+            return false;
+        }
+        BsonValue id = filter.asDocument().get("_id");
+        return id != null && !id.isDocument();
+    }
+
+    /**
+     * Checks whether new requests should be shed.
+     * @return Whether the service is overloaded.
+     */
+    public boolean isOverloaded() {
+        return lockManager.queueLength() > maxLockQueueLength || averageLatencyNanos() > maxLatencyNanos;
+    }
+
+    /**
+     * @return The moving average of the latency of the database commands, 0 if there were no recent commands.
+     */
+    public long averageLatencyNanos() {
+        return System.nanoTime() - lastSampleNanos > STALE_AFTER_NANOS ? 0 : averageLatencyNanos.get();
+    }
+}
@@ -0,0 +1,159 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.CreateBlackboardDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.dto.DisplayDataDTO;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.BlackboardAlreadyExistsException;
+import de.jglumanda.verteiltesysteme_programmentwurf.exception.ResourceNotFoundException;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEvent;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardEventType;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.BlackboardFilter;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import de.jglumanda.verteiltesysteme_programmentwurf.repository.ReactiveBlackboardRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking variant of the {@link BlackboardService} for the reactive profile.
+ * The blackboards are read directly from the reactive repository without the cache; the expiry index is shared
+ * with the blocking service, which keeps running the expiry task.
+ */
+@AllArgsConstructor
+@Service
+@Profile("reactive")
+public class ReactiveBlackboardService {
+    private final ReactiveBlackboardRepository blackboardRepository;
+    private final BlackboardExpiryIndex expiryIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> pendingActions = new ConcurrentHashMap<>();
+
+    /**
+     * Executes a given action after all actions previously started for the specified blackboard name have finished.
+     * This is the non-blocking counterpart of the lock in the {@link BlackboardService}: waiting actions do not
+     * occupy a thread, they are subscribed once their predecessor completes.
+     * @param name      The name of the blackboard.
+     * @param action    The action to be executed.
+     * @return          The result of the action.
+     * @param <T>       The return type of the action.
+     */
+    private <T> Mono<T> executeSerialized(String name, Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            CompletableFuture<Void> previous = pendingActions.put(name, done);
+            Mono<Void> predecessor = previous == null ? Mono.empty() : Mono.fromFuture(previous);
+            return predecessor
+                    .then(Mono.defer(action))
+                    .doFinally(signal -> {
+                        pendingActions.remove(name, done);
+                        done.complete(null);
+                    });
+        });
+    }
+
+    /**
+     * Creates a new blackboard.
+     * @param createBlackboardDTO   Data Transfer Object containing the details of the blackboard to be created.
+     * @return                      The created blackboard.
+     */
+    public Mono<Blackboard> createBlackboard(CreateBlackboardDTO createBlackboardDTO) {
+        return executeSerialized(createBlackboardDTO.getName(), () -> {
+            Blackboard blackboard = new Blackboard();
+            blackboard.setName(createBlackboardDTO.getName());
+            blackboard.setData("");
+            blackboard.setValidityInSeconds(createBlackboardDTO.getValidityInSeconds());
+            blackboard.setLastUpdated(System.currentTimeMillis());
+            blackboard.setStatus(Status.VALID);
+            return blackboardRepository.insert(blackboard)
+                    .onErrorMap(DuplicateKeyException.class, ex -> new BlackboardAlreadyExistsException(
+                            "Blackboard with name '" + createBlackboardDTO.getName() + "' already exists"))
+                    .doOnNext(createdBlackboard -> onUpdated(createdBlackboard, null));
+        });
+    }
+
+    /**
+     * Displays data on the blackboard with the specified name.
+     * @param name              The name of the blackboard.
+     * @param displayDataDTO    Data Transfer Object containing the data to be displayed.
+     * @return                  The updated blackboard.
+     */
+    public Mono<Blackboard> displayBlackboard(String name, DisplayDataDTO displayDataDTO) {
+        return executeSerialized(name, () -> blackboardRepository.display(name, displayDataDTO.getData(), System.currentTimeMillis())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blackboard not found")))
+                .doOnNext(blackboard -> onUpdated(blackboard, BlackboardEventType.DISPLAYED)));
+    }
+
+    /**
+     * Clears the data on the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      Completes when the blackboard is cleared.
+     */
+    public Mono<Void> clearBlackboard(String name) {
+        return executeSerialized(name, () -> blackboardRepository.clear(name, System.currentTimeMillis())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blackboard not found")))
+                .doOnNext(blackboard -> onUpdated(blackboard, BlackboardEventType.CLEARED))
+                .then());
+    }
+
+    /**
+     * Reads the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      The read blackboard.
+     */
+    public Mono<Blackboard> readBlackboard(String name) {
+        return blackboardRepository.findById(name)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Blackboard not found")));
+    }
+
+    /**
+     * Lists all blackboards matching the given filter.
+     * @param filter        The filter the blackboards have to match.
+     * @param includeData   Whether the data of the blackboards is included.
+     * @return              All matching blackboards.
+     */
+    public Flux<Blackboard> listBlackboards(BlackboardFilter filter, boolean includeData) {
+        return blackboardRepository.findAll(filter, includeData);
+    }
+
+    /**
+     * Deletes the blackboard with the specified name.
+     * @param name  The name of the blackboard.
+     * @return      Completes when the blackboard is deleted.
+     */
+    public Mono<Void> deleteBlackboard(String name) {
+        return executeSerialized(name, () -> blackboardRepository.deleteAndCount(name)
+                .flatMap(deletedBlackboards -> deletedBlackboards == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Blackboard not found"))
+                        : Mono.<Void>fromRunnable(() -> onDeleted(name))));
+    }
+
+    /**
+     * Deletes all blackboards matching the given filter with one operation in the repository.
+     * @param filter    The filter the blackboards have to match.
+     * @return          The number of deleted blackboards.
+     */
+    public Mono<Long> deleteAllBlackboards(BlackboardFilter filter) {
+        return blackboardRepository.deleteMatching(filter)
+                .doOnNext(deletedBlackboards -> eventPublisher.publishEvent(new BlackboardEvent(BlackboardEventType.PURGED, null, null)));
+    }
+
+    private void onUpdated(Blackboard blackboard, BlackboardEventType eventType) {
+        expiryIndex.schedule(blackboard);
+        if (eventType != null) {
+            eventPublisher.publishEvent(new BlackboardEvent(eventType, blackboard.getName(), blackboard));
+        }
+    }
+
+    private void onDeleted(String name) {
+        expiryIndex.cancel(name);
+        eventPublisher.publishEvent(new BlackboardEvent(BlackboardEventType.DELETED, name, null));
+    }
+}
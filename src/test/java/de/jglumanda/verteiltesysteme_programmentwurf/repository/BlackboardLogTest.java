@@ -0,0 +1,224 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.repository;
+
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Blackboard;
+import de.jglumanda.verteiltesysteme_programmentwurf.model.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of the {@link BlackboardLog} recovering from a crash and of the {@link EmbeddedBlackboardStore} compacting it.
+ */
+class BlackboardLogTest {
+    private static final int INITIAL_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayDiscardsTruncatedTail() throws IOException {
+        Path file = directory.resolve("blackboards.log");
+        int firstSize;
+        try (BlackboardLog blackboardLog = BlackboardLog.create(file, INITIAL_SIZE)) {
+            firstSize = blackboardLog.appendPut(blackboard("a", "first"));
+            blackboardLog.appendPut(blackboard("b", "second"));
+            blackboardLog.force();
+        }
+        // The crash cut off the second record, the file ends within its body
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(firstSize + 12);
+        }
+
+        List<String> records = new ArrayList<>();
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, 0)) {
+            blackboardLog.replay(recorder(records));
+            assertEquals(firstSize, blackboardLog.size());
+        }
+        assertEquals(List.of("put a first"), records);
+    }
+
+    @Test
+    void replayDiscardsTailWithWrongChecksum() throws IOException {
+        Path file = directory.resolve("blackboards.log");
+        int firstSize;
+        int secondSize;
+        try (BlackboardLog blackboardLog = BlackboardLog.create(file, INITIAL_SIZE)) {
+            firstSize = blackboardLog.appendPut(blackboard("a", "first"));
+            secondSize = blackboardLog.appendPut(blackboard("b", "second"));
+            blackboardLog.force();
+        }
+        // The crash wrote the header of the second record but not all of its body
+        writeByte(file, firstSize + secondSize - 1, (byte) 0x7f);
+
+        List<String> records = new ArrayList<>();
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, INITIAL_SIZE)) {
+            blackboardLog.replay(recorder(records));
+            assertEquals(firstSize, blackboardLog.size());
+        }
+        assertEquals(List.of("put a first"), records);
+
+        // The discarded tail was zeroed, so it does not show up again on the next start
+        assertEquals(0, readByte(file, firstSize));
+        assertEquals(0, readByte(file, firstSize + secondSize - 1));
+    }
+
+    @Test
+    void replayRejectsDamagedRecordFollowedByIntactOnes() throws IOException {
+        Path file = directory.resolve("blackboards.log");
+        int firstSize;
+        int secondSize;
+        try (BlackboardLog blackboardLog = BlackboardLog.create(file, INITIAL_SIZE)) {
+            firstSize = blackboardLog.appendPut(blackboard("a", "first"));
+            secondSize = blackboardLog.appendPut(blackboard("b", "second"));
+            blackboardLog.appendPut(blackboard("c", "third"));
+            blackboardLog.force();
+        }
+        // A damaged record in the middle is not the tail of a crash, the records behind it were acknowledged
+        writeByte(file, firstSize + secondSize - 1, (byte) 0x7f);
+
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, INITIAL_SIZE)) {
+            assertThrows(DataAccessResourceFailureException.class, () -> blackboardLog.replay(recorder(new ArrayList<>())));
+        }
+
+        // Nothing was zeroed, the intact records can still be recovered from the file
+        assertEquals(0x7f, readByte(file, firstSize + secondSize - 1));
+        assertEquals(1, readByte(file, firstSize + secondSize + 8));
+    }
+
+    @Test
+    void appendAfterRecoveryIsReplayed() throws IOException {
+        Path file = directory.resolve("blackboards.log");
+        int firstSize;
+        try (BlackboardLog blackboardLog = BlackboardLog.create(file, INITIAL_SIZE)) {
+            firstSize = blackboardLog.appendPut(blackboard("a", "first"));
+            blackboardLog.appendPut(blackboard("b", "a longer record than the one written after the recovery"));
+            blackboardLog.force();
+        }
+        writeByte(file, firstSize + 8, (byte) 0x7f);
+
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, INITIAL_SIZE)) {
+            blackboardLog.replay(recorder(new ArrayList<>()));
+            blackboardLog.appendDelete("a");
+            blackboardLog.appendPut(blackboard("c", "third"));
+            blackboardLog.force();
+        }
+
+        List<String> records = new ArrayList<>();
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, INITIAL_SIZE)) {
+            blackboardLog.replay(recorder(records));
+        }
+        assertEquals(List.of("put a first", "delete a", "put c third"), records);
+    }
+
+    @Test
+    void truncateDiscardsRecordsOfFailedWrite() {
+        Path file = directory.resolve("blackboards.log");
+        try (BlackboardLog blackboardLog = BlackboardLog.create(file, INITIAL_SIZE)) {
+            blackboardLog.appendPut(blackboard("a", "first"));
+            blackboardLog.force();
+            int mark = blackboardLog.size();
+            blackboardLog.appendPut(blackboard("b", "second"));
+            blackboardLog.force();
+            blackboardLog.truncate(mark);
+            assertEquals(mark, blackboardLog.size());
+        }
+
+        List<String> records = new ArrayList<>();
+        try (BlackboardLog blackboardLog = BlackboardLog.open(file, INITIAL_SIZE)) {
+            blackboardLog.replay(recorder(records));
+        }
+        assertEquals(List.of("put a first"), records);
+    }
+
+    @Test
+    void storeKeepsCurrentBlackboardsAcrossCompaction() {
+        EmbeddedBlackboardStore store = new EmbeddedBlackboardStore(directory.toString(), INITIAL_SIZE, true, 0);
+        store.open();
+        store.insert(blackboard("a", ""));
+        store.insert(blackboard("b", ""));
+        store.insert(blackboard("c", ""));
+        for (int i = 0; i < 50; i++) {
+            store.display("a", "update " + i, 2000L + i);
+        }
+        store.clear("c", 3000L);
+        store.deleteAndCount("b");
+        store.compactIfNeeded();
+        store.display("c", "after compaction", 4000L);
+        store.close();
+
+        // Only the current blackboards are left in the log, followed by the write after the compaction
+        List<String> records = new ArrayList<>();
+        try (BlackboardLog blackboardLog = BlackboardLog.open(directory.resolve("blackboards.log"), INITIAL_SIZE)) {
+            blackboardLog.replay(recorder(records));
+        }
+        assertEquals(List.of("put a update 49", "put c ", "put c after compaction"), records);
+
+        EmbeddedBlackboardStore reopened = new EmbeddedBlackboardStore(directory.toString(), INITIAL_SIZE, true, 0);
+        reopened.open();
+        try {
+            assertEquals(2, reopened.count());
+            Blackboard a = reopened.findById("a").orElseThrow();
+            assertEquals("update 49", a.getData());
+            assertEquals(Status.VALID, a.getStatus());
+            assertEquals(50L, a.getVersion());
+            Blackboard c = reopened.findById("c").orElseThrow();
+            assertEquals("after compaction", c.getData());
+            assertEquals(4000L, c.getLastUpdated());
+            assertEquals(2L, c.getVersion());
+            assertTrue(reopened.findById("b").isEmpty());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static Blackboard blackboard(String name, String data) {
+        Blackboard blackboard = new Blackboard();
+        blackboard.setName(name);
+        blackboard.setData(data);
+        blackboard.setValidityInSeconds(60L);
+        blackboard.setLastUpdated(1000L);
+        blackboard.setStatus(Status.INVALID);
+        blackboard.setVersion(0L);
+        return blackboard;
+    }
+
+    private static BlackboardLog.Visitor recorder(List<String> records) {
+        return new BlackboardLog.Visitor() {
+            @Override
+            public void put(Blackboard blackboard, int recordSize) {
+                records.add("put " + blackboard.getName() + " " + blackboard.getData());
+            }
+
+            @Override
+            public void delete(String name, int recordSize) {
+                records.add("delete " + name);
+            }
+        };
+    }
+
+    private static void writeByte(Path file, int offset, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{value}), offset);
+        }
+    }
+
+    private static byte readByte(Path file, int offset) throws IOException {
+        ByteBuffer value = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.read(value, offset);
+        }
+        return value.get(0);
+    }
+}
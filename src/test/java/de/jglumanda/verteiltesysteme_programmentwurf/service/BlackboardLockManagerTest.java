@@ -0,0 +1,188 @@
+package de.jglumanda.verteiltesysteme_programmentwurf.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress tests of the {@link BlackboardLockManager}, run with a single stripe, so all blackboards share one lock,
+ * and with enough stripes that most blackboards have their own.
+ */
+class BlackboardLockManagerTest {
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 20_000;
+    private static final int BOARDS = 8;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 1024})
+    void writeLockExcludesOtherWritersOfTheSameBoard(int stripeCount) throws Exception {
+        BlackboardLockManager lockManager = new BlackboardLockManager(stripeCount);
+        AtomicIntegerArray holders = new AtomicIntegerArray(BOARDS);
+        int[] counters = new int[BOARDS];
+        AtomicInteger violations = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int board = ThreadLocalRandom.current().nextInt(BOARDS);
+            int stripe = lockManager.stripe(name(board));
+            long stamp = lockManager.writeLock(stripe);
+            try {
+                if (holders.incrementAndGet(board) != 1) {
+                    violations.incrementAndGet();
+                }
+                counters[board]++;
+                holders.decrementAndGet(board);
+            } finally {
+                lockManager.unlock(stripe, stamp);
+            }
+        });
+
+        assertEquals(0, violations.get());
+        int total = 0;
+        for (int counter : counters) {
+            total += counter;
+        }
+        assertEquals(THREADS * ITERATIONS, total);
+        assertEquals(0, lockManager.queueLength());
+        assertEquals(0, lockManager.lockedStripes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 1024})
+    void readLockExcludesWritersOfTheSameBoard(int stripeCount) throws Exception {
+        BlackboardLockManager lockManager = new BlackboardLockManager(stripeCount);
+        long[][] values = new long[BOARDS][2];
+        AtomicInteger violations = new AtomicInteger();
+
+        runConcurrently(() -> {
+            int board = ThreadLocalRandom.current().nextInt(BOARDS);
+            int stripe = lockManager.stripe(name(board));
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                long stamp = lockManager.writeLock(stripe);
+                try {
+                    values[board][0]++;
+                    Thread.onSpinWait();
+                    values[board][1]++;
+                } finally {
+                    lockManager.unlock(stripe, stamp);
+                }
+            } else {
+                long stamp = lockManager.readLock(stripe);
+                try {
+                    if (values[board][0] != values[board][1]) {
+                        violations.incrementAndGet();
+                    }
+                } finally {
+                    lockManager.unlock(stripe, stamp);
+                }
+            }
+        });
+
+        assertEquals(0, violations.get());
+        assertEquals(0, lockManager.lockedStripes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 1024})
+    void overlappingBatchesDoNotDeadlock(int stripeCount) throws Exception {
+        BlackboardLockManager lockManager = new BlackboardLockManager(stripeCount);
+        AtomicIntegerArray holders = new AtomicIntegerArray(BOARDS);
+        AtomicInteger violations = new AtomicInteger();
+
+        runConcurrently(() -> {
+            List<String> names = new ArrayList<>();
+            List<Integer> boards = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                int board = ThreadLocalRandom.current().nextInt(BOARDS);
+                names.add(name(board));
+                if (!boards.contains(board)) {
+                    boards.add(board);
+                }
+            }
+            int[] stripes = lockManager.stripes(names);
+            long[] stamps = new long[stripes.length];
+            for (int i = 0; i < stripes.length; i++) {
+                stamps[i] = lockManager.writeLock(stripes[i]);
+            }
+            try {
+                for (int board : boards) {
+                    if (holders.incrementAndGet(board) != 1) {
+                        violations.incrementAndGet();
+                    }
+                }
+                for (int board : boards) {
+                    holders.decrementAndGet(board);
+                }
+            } finally {
+                for (int i = stripes.length - 1; i >= 0; i--) {
+                    lockManager.unlock(stripes[i], stamps[i]);
+                }
+            }
+        });
+
+        assertEquals(0, violations.get());
+        assertEquals(0, lockManager.lockedStripes());
+    }
+
+    @Test
+    void stripesAreDistinctAndAscending() {
+        BlackboardLockManager lockManager = new BlackboardLockManager(1);
+        assertArrayEquals(new int[]{0}, lockManager.stripes(List.of("a", "b", "a")));
+
+        BlackboardLockManager stripedLockManager = new BlackboardLockManager(1000);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            names.add(name(i));
+        }
+        int[] stripes = stripedLockManager.stripes(names);
+        for (int i = 1; i < stripes.length; i++) {
+            assertTrue(stripes[i - 1] < stripes[i]);
+        }
+        assertTrue(stripes[stripes.length - 1] < 1024);
+        assertEquals(stripedLockManager.stripe("board-1"), stripedLockManager.stripe("board-1"));
+    }
+
+    /**
+     * Runs the given action {@link #ITERATIONS} times on each of {@link #THREADS} threads started at the same time.
+     */
+    private static void runConcurrently(Runnable action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < ITERATIONS; j++) {
+                        action.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String name(int board) {
+        return "board-" + board;
+    }
+}